@@ -0,0 +1,108 @@
+package plugins.quorum.Libraries.Containers;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import quorum.Libraries.Language.Object_;
+
+/**
+ * Benchmarks for adding, inserting, and removing items in the native plugin
+ * for Libraries.Containers.Array. The benchmarks that remove items start
+ * from a copy of a full array made inside the benchmark, as a per invocation
+ * setup would be timed along with it for arrays this small. The Copy
+ * benchmark measures that copy on its own, so it can be taken away from the
+ * removal times.
+ *
+ * @author Andreas Stefik
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Object_[] items;
+
+    @Setup(Level.Trial)
+    public void CreateItems() {
+        items = new Object_[size];
+        for(int i = 0; i < size; i++) {
+            quorum.Libraries.Language.Types.Integer value = new quorum.Libraries.Language.Types.Integer();
+            value.SetValue(i);
+            items[i] = value;
+        }
+    }
+
+    private Array CopyItems() {
+        Array array = new Array(size);
+        array.SetSizeNative(size);
+        for(int i = 0; i < size; i++) {
+            array.SetNative(i, items[i]);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Array Copy() {
+        return CopyItems();
+    }
+
+    @Benchmark
+    public Array Add() {
+        Array array = new Array();
+        for(int i = 0; i < size; i++) {
+            array.AddNative(items[i]);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Array InsertAtFront() {
+        Array array = new Array();
+        for(int i = 0; i < size; i++) {
+            array.AddNative(0, items[i]);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Array InsertInMiddle() {
+        Array array = new Array();
+        for(int i = 0; i < size; i++) {
+            array.AddNative(array.GetSize() / 2, items[i]);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Array RemoveFromFront() {
+        Array full = CopyItems();
+        while(!full.IsEmpty()) {
+            full.RemoveAtNative(0);
+        }
+        return full;
+    }
+
+    @Benchmark
+    public Array RemoveFromBack() {
+        Array full = CopyItems();
+        while(!full.IsEmpty()) {
+            full.RemoveAtNative(full.GetSize() - 1);
+        }
+        return full;
+    }
+}
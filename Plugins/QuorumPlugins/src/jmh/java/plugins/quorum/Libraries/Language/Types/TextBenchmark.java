@@ -0,0 +1,92 @@
+package plugins.quorum.Libraries.Language.Types;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import quorum.Libraries.Containers.Array_;
+
+/**
+ * Benchmarks for splitting, indexing, and comparing in the native plugin for
+ * Libraries.Language.Types.Text.
+ *
+ * @author Andreas Stefik
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBenchmark {
+    @Param({"100", "10000"})
+    public int fields;
+
+    private Text text;
+    private String value;
+    private String same;
+    private String different;
+
+    @Setup(Level.Trial)
+    public void CreateText() {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < fields; i++) {
+            if(i > 0) {
+                builder.append(',');
+            }
+            builder.append("field").append(i);
+        }
+        value = builder.toString();
+        same = new String(value.toCharArray());
+        different = value.substring(0, value.length() - 1) + "X";
+
+        text = new Text();
+        text.SetValueNative(value);
+    }
+
+    @Benchmark
+    public Array_ Split() {
+        return text.Split(",", false);
+    }
+
+    @Benchmark
+    public Array_ SplitKeepingEmpty() {
+        return text.Split(",", true);
+    }
+
+    @Benchmark
+    public int GetCharacterNative() {
+        int count = 0;
+        int size = value.length();
+        for(int i = 0; i < size; i++) {
+            if(text.GetCharacterNative(i).equals(",")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int CompareEqual() {
+        return text.CompareInt(value, same, false);
+    }
+
+    @Benchmark
+    public int CompareDifferent() {
+        return text.CompareInt(value, different, false);
+    }
+
+    @Benchmark
+    public int CompareIgnoringCase() {
+        return text.CompareInt(value, different, true);
+    }
+}
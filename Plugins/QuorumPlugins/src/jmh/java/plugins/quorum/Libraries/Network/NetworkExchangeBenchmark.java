@@ -0,0 +1,179 @@
+package plugins.quorum.Libraries.Network;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import quorum.Libraries.Containers.HashTable_;
+
+/**
+ * Benchmarks for reading the parameters of a request in the native plugin for
+ * Libraries.Network.NetworkExchange, both from a query and from a form
+ * encoded body. The request is an in memory HttpExchange, so no socket is
+ * involved.
+ *
+ * @author Andreas Stefik
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkExchangeBenchmark {
+    @Param({"10", "1000"})
+    public int parameters;
+
+    @Param({"query", "form"})
+    public String encoding;
+
+    private NetworkExchange exchange;
+
+    @Setup(Level.Trial)
+    public void CreateExchange() {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < parameters; i++) {
+            if(i > 0) {
+                builder.append('&');
+            }
+            builder.append("name").append(i).append("=value+").append(i).append("%21");
+        }
+        String query = builder.toString();
+
+        MemoryExchange request;
+        if(encoding.equals("form")) {
+            request = new MemoryExchange(URI.create("/submit"), query.getBytes(StandardCharsets.UTF_8));
+            request.getRequestHeaders().set("Content-type", "application/x-www-form-urlencoded");
+        } else {
+            request = new MemoryExchange(URI.create("/submit?" + query), new byte[0]);
+        }
+        exchange = new NetworkExchange();
+        exchange.setExchange(request);
+    }
+
+    @Benchmark
+    public HashTable_ GetParameters() throws IOException {
+        return exchange.GetParameters();
+    }
+
+    /**
+     * An HttpExchange whose request body is read again from the start each
+     * time it is asked for.
+     */
+    private static class MemoryExchange extends HttpExchange {
+        private final URI uri;
+        private final byte[] body;
+        private final Headers requestHeaders = new Headers();
+        private final Headers responseHeaders = new Headers();
+        private final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        private int code = -1;
+
+        MemoryExchange(URI uri, byte[] body) {
+            this.uri = uri;
+            this.body = body;
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return requestHeaders;
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return uri;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return body.length == 0 ? "GET" : "POST";
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            return response;
+        }
+
+        @Override
+        public void sendResponseHeaders(int code, long length) {
+            this.code = code;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return new InetSocketAddress("localhost", 0);
+        }
+
+        @Override
+        public int getResponseCode() {
+            return code;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return new InetSocketAddress("localhost", 0);
+        }
+
+        @Override
+        public String getProtocol() {
+            return "HTTP/1.1";
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+        }
+
+        @Override
+        public void setStreams(InputStream input, OutputStream output) {
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package plugins.quorum.Libraries.Sound.Ogg.jorbis;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark for decoding a whole Ogg Vorbis file to 16 bit PCM with
+ * VorbisFile. The file is read into memory first, so only decoding is
+ * measured. There is no Ogg file in the repository, so the path is given by
+ * the quorum.benchmark.ogg system property, which the jmh Gradle task sets
+ * from -PjmhOgg.
+ *
+ * @author Andreas Stefik
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VorbisFileBenchmark {
+    public static final String FILE_PROPERTY = "quorum.benchmark.ogg";
+
+    private byte[] data;
+    private final byte[] buffer = new byte[4096];
+    private final int[] bitstream = new int[1];
+
+    @Setup(Level.Trial)
+    public void ReadFile() throws IOException {
+        String path = System.getProperty(FILE_PROPERTY);
+        if(path == null || path.isEmpty()) {
+            throw new IllegalStateException("Set the " + FILE_PROPERTY + " property to the Ogg Vorbis file to decode.");
+        }
+        data = Files.readAllBytes(Paths.get(path));
+    }
+
+    @Benchmark
+    public long Decode() throws JOrbisException {
+        VorbisFile file = new VorbisFile(new ByteArrayInputStream(data), null, 0);
+        long total = 0;
+        int read = 0;
+        //little endian, 16 bit, signed samples, as the sound plugins play them
+        while((read = file.read(buffer, buffer.length, 0, 2, 1, bitstream)) != 0) {
+            if(read > 0) {
+                total += read;
+            }
+        }
+        return total;
+    }
+}
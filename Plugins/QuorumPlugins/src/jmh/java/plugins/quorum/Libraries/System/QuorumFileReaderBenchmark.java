@@ -0,0 +1,72 @@
+package plugins.quorum.Libraries.System;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quorum.Libraries.System.File;
+
+/**
+ * Benchmarks for reading a whole file through the native plugin for
+ * Libraries.System.FileReader. The file is written to a temporary folder
+ * before the benchmark runs and removed afterward.
+ *
+ * @author Andreas Stefik
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuorumFileReaderBenchmark {
+    @Param({"1000", "100000"})
+    public int lines;
+
+    private Path path;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void WriteFile() throws IOException {
+        path = Files.createTempFile("QuorumFileReaderBenchmark", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for(int i = 0; i < lines; i++) {
+                writer.write("line " + i + ",a line of text of a typical length,3.14159,true");
+                writer.newLine();
+            }
+        }
+        file = new File();
+        file.SetAbsolutePath(path.toAbsolutePath().toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void DeleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public String ReadLinesNative() throws IOException {
+        QuorumFileReader reader = new QuorumFileReader();
+        reader.OpenForReadNative(file);
+        try {
+            return reader.ReadLinesNative();
+        } finally {
+            reader.Close();
+        }
+    }
+}
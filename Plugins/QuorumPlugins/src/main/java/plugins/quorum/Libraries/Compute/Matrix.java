@@ -0,0 +1,162 @@
+package plugins.quorum.Libraries.Compute;
+
+import java.util.stream.IntStream;
+import quorum.Libraries.Compute.Matrix_;
+
+/**
+ * A plugin implementation for Libraries.Compute.Matrix. The cells are kept in
+ * one double array in row-major order, so a row is contiguous in memory.
+ *
+ * Multiplication is blocked, so that each block of the right matrix is reused
+ * from the cache by many rows of the left one, and large products are split
+ * by blocks of rows across the common fork/join pool.
+ *
+ * @author Andreas Stefik
+ */
+public class Matrix {
+    public java.lang.Object me_ = null;
+
+    /* rows of the left matrix handed to one task */
+    private static final int ROW_BLOCK = 64;
+    /* shared dimension and right matrix columns walked per block */
+    private static final int INNER_BLOCK = 256;
+    private static final int COLUMN_BLOCK = 1024;
+    /* square tiles used when transposing */
+    private static final int TILE = 32;
+    /* products with fewer multiplications than this stay on one thread */
+    private static final long PARALLEL_WORK = 1L << 20;
+
+    private double[] values = new double[0];
+    private int rows = 0;
+    private int columns = 0;
+
+    public double GetNative(int row, int column) {
+        return values[row * columns + column];
+    }
+
+    public void SetNative(int row, int column, double value) {
+        values[row * columns + column] = value;
+    }
+
+    public int GetRows() {
+        return rows;
+    }
+
+    public int GetColumns() {
+        return columns;
+    }
+
+    /*
+     * Resizes the matrix. Cells that exist in both the old and new sizes keep
+     * their values, and new cells are zero.
+     */
+    public void SetSizeNative(int rows, int columns) {
+        if (rows == this.rows && columns == this.columns) {
+            return;
+        }
+        double[] resized = new double[rows * columns];
+        int keepRows = java.lang.Math.min(rows, this.rows);
+        int keepColumns = java.lang.Math.min(columns, this.columns);
+        for (int row = 0; row < keepRows; row++) {
+            System.arraycopy(values, row * this.columns, resized, row * columns, keepColumns);
+        }
+        setValues(resized, rows, columns);
+    }
+
+    public void Fill(int rows, int columns, double value) {
+        double[] filled = new double[rows * columns];
+        if (value != 0) {
+            java.util.Arrays.fill(filled, value);
+        }
+        setValues(filled, rows, columns);
+    }
+
+    public void CopyNative(Matrix_ matrix) {
+        Matrix from = Plugin(matrix);
+        setValues(from.values.clone(), from.rows, from.columns);
+    }
+
+    public void TransposeNative(Matrix_ matrix) {
+        Matrix from = Plugin(matrix);
+        int n = from.rows;
+        int m = from.columns;
+        double[] source = from.values;
+        double[] result = new double[n * m];
+        for (int rowTile = 0; rowTile < n; rowTile += TILE) {
+            int rowEnd = java.lang.Math.min(rowTile + TILE, n);
+            for (int columnTile = 0; columnTile < m; columnTile += TILE) {
+                int columnEnd = java.lang.Math.min(columnTile + TILE, m);
+                for (int row = rowTile; row < rowEnd; row++) {
+                    for (int column = columnTile; column < columnEnd; column++) {
+                        result[column * n + row] = source[row * m + column];
+                    }
+                }
+            }
+        }
+        setValues(result, m, n);
+    }
+
+    /*
+     * Sets this matrix to left times right. The caller has already checked
+     * that the columns of left match the rows of right.
+     */
+    public void MultiplyNative(Matrix_ leftMatrix, Matrix_ rightMatrix) {
+        Matrix left = Plugin(leftMatrix);
+        Matrix right = Plugin(rightMatrix);
+        int n = left.rows;
+        int inner = left.columns;
+        int m = right.columns;
+        double[] a = left.values;
+        double[] b = right.values;
+        double[] c = new double[n * m];
+
+        int blocks = (n + ROW_BLOCK - 1) / ROW_BLOCK;
+        IntStream stream = IntStream.range(0, blocks);
+        if ((long) n * inner * m >= PARALLEL_WORK && blocks > 1) {
+            stream = stream.parallel();
+        }
+        stream.forEach(block -> MultiplyBlock(a, b, c, block * ROW_BLOCK,
+                java.lang.Math.min(block * ROW_BLOCK + ROW_BLOCK, n), inner, m));
+        setValues(c, n, m);
+    }
+
+    /*
+     * Accumulates rows first through last - 1 of the product. The innermost
+     * loop runs along a row of both the right matrix and the result, so it
+     * reads and writes memory in order.
+     */
+    private static void MultiplyBlock(double[] a, double[] b, double[] c, int first, int last, int inner, int m) {
+        for (int innerStart = 0; innerStart < inner; innerStart += INNER_BLOCK) {
+            int innerEnd = java.lang.Math.min(innerStart + INNER_BLOCK, inner);
+            for (int columnStart = 0; columnStart < m; columnStart += COLUMN_BLOCK) {
+                int columnEnd = java.lang.Math.min(columnStart + COLUMN_BLOCK, m);
+                for (int row = first; row < last; row++) {
+                    int aRow = row * inner;
+                    int cRow = row * m;
+                    for (int k = innerStart; k < innerEnd; k++) {
+                        double value = a[aRow + k];
+                        int bRow = k * m;
+                        for (int column = columnStart; column < columnEnd; column++) {
+                            c[cRow + column] += value * b[bRow + column];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    /* adopts the array as the cells of the matrix, without copying it */
+    public void setValues(double[] values, int rows, int columns) {
+        this.values = values;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    public static Matrix Plugin(Matrix_ matrix) {
+        return ((quorum.Libraries.Compute.Matrix) matrix).plugin_;
+    }
+}
@@ -0,0 +1,148 @@
+package plugins.quorum.Libraries.Compute.MatrixTransform;
+
+import quorum.Libraries.Compute.Matrix_;
+import plugins.quorum.Libraries.Compute.Matrix;
+
+/**
+ * A plugin implementation for Libraries.Compute.MatrixTransform.LowerUpperDecomposition.
+ * The calculation is the same one the class used to do through Get and Set, but
+ * it works on the row-major array of the matrix directly. Each column is copied
+ * into a contiguous buffer while it is worked on, so the inner products in the
+ * decomposition read memory in order.
+ *
+ * @author Andreas Stefik
+ */
+public class LowerUpperDecomposition {
+    public java.lang.Object me_ = null;
+
+    private int[] pivot = new int[0];
+
+    /*
+     * Decomposes the matrix in place, which must be a copy the caller owns,
+     * and returns whether it is singular.
+     */
+    public boolean DecomposeNative(Matrix_ matrix, double tooSmall) {
+        Matrix plugin = Matrix.Plugin(matrix);
+        double[] lu = plugin.getValues();
+        int m = plugin.GetColumns();
+        boolean singular = false;
+
+        pivot = new int[m];
+        for (int row = 0; row < m; row++) {
+            pivot[row] = row;
+        }
+
+        double[] current = new double[m];
+        for (int column = 0; column < m; column++) {
+            for (int row = 0; row < m; row++) {
+                current[row] = lu[row * m + column];
+            }
+
+            //first tackle the upper triangular
+            for (int row = 0; row < column; row++) {
+                int offset = row * m;
+                double sum = current[row];
+                for (int i = 0; i < row; i++) {
+                    sum -= lu[offset + i] * current[i];
+                }
+                current[row] = sum;
+            }
+
+            //then the lower triangular, finding the largest value to pivot on
+            int max = column;
+            double largest = Double.NEGATIVE_INFINITY;
+            for (int row = column; row < m; row++) {
+                int offset = row * m;
+                double sum = current[row];
+                for (int i = 0; i < column; i++) {
+                    sum -= lu[offset + i] * current[i];
+                }
+                current[row] = sum;
+                if (java.lang.Math.abs(sum) > largest) {
+                    largest = java.lang.Math.abs(sum);
+                    max = row;
+                }
+            }
+
+            for (int row = 0; row < m; row++) {
+                lu[row * m + column] = current[row];
+            }
+
+            if (java.lang.Math.abs(lu[max * m + column]) < tooSmall) {
+                singular = true;
+            }
+
+            if (max != column) {
+                int maxOffset = max * m;
+                int columnOffset = column * m;
+                for (int i = 0; i < m; i++) {
+                    double temp = lu[maxOffset + i];
+                    lu[maxOffset + i] = lu[columnOffset + i];
+                    lu[columnOffset + i] = temp;
+                }
+                int temp = pivot[max];
+                pivot[max] = pivot[column];
+                pivot[column] = temp;
+            }
+
+            double diagonal = lu[column * m + column];
+            for (int row = column + 1; row < m; row++) {
+                lu[row * m + column] /= diagonal;
+            }
+        }
+        return singular;
+    }
+
+    /* the row of the original matrix that was moved to this row */
+    public int GetPivotNative(int row) {
+        return pivot[row];
+    }
+
+    /*
+     * Solves for every column of the matrix at once, writing the answer into
+     * result. The caller has already checked the dimensions.
+     */
+    public void SolveNative(Matrix_ decomposition, Matrix_ matrix, Matrix_ result) {
+        Matrix luPlugin = Matrix.Plugin(decomposition);
+        Matrix bPlugin = Matrix.Plugin(matrix);
+        double[] lu = luPlugin.getValues();
+        double[] b = bPlugin.getValues();
+        int m = pivot.length;
+        int columns = bPlugin.GetColumns();
+        double[] x = new double[m * columns];
+
+        //apply the permutation to b
+        for (int row = 0; row < m; row++) {
+            System.arraycopy(b, pivot[row] * columns, x, row * columns, columns);
+        }
+
+        //solve LY = b
+        for (int column = 0; column < m; column++) {
+            int columnOffset = column * columns;
+            for (int i = column + 1; i < m; i++) {
+                double factor = lu[i * m + column];
+                int offset = i * columns;
+                for (int j = 0; j < columns; j++) {
+                    x[offset + j] -= x[columnOffset + j] * factor;
+                }
+            }
+        }
+
+        //solve UX = Y
+        for (int column = m - 1; column >= 0; column--) {
+            int columnOffset = column * columns;
+            double diagonal = lu[column * m + column];
+            for (int j = 0; j < columns; j++) {
+                x[columnOffset + j] /= diagonal;
+            }
+            for (int i = 0; i < column; i++) {
+                double factor = lu[i * m + column];
+                int offset = i * columns;
+                for (int j = 0; j < columns; j++) {
+                    x[offset + j] -= x[columnOffset + j] * factor;
+                }
+            }
+        }
+        Matrix.Plugin(result).setValues(x, m, columns);
+    }
+}
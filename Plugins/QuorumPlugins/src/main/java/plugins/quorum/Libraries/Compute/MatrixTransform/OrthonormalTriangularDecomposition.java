@@ -0,0 +1,154 @@
+package plugins.quorum.Libraries.Compute.MatrixTransform;
+
+import java.util.stream.IntStream;
+import quorum.Libraries.Compute.Matrix_;
+import quorum.Libraries.Compute.Vector_;
+import plugins.quorum.Libraries.Compute.Matrix;
+
+/**
+ * A plugin implementation for Libraries.Compute.MatrixTransform.OrthonormalTriangularDecomposition.
+ * The Householder reflections work on the transpose of the matrix, so each
+ * reflector and each column it is applied to is one contiguous row of the
+ * array. Applying a reflector to the remaining columns is independent per
+ * column, so on tall matrices those columns are split across the common
+ * fork/join pool.
+ *
+ * @author Andreas Stefik
+ */
+public class OrthonormalTriangularDecomposition {
+    public java.lang.Object me_ = null;
+
+    /* reflections with fewer multiplications than this stay on one thread */
+    private static final long PARALLEL_WORK = 1L << 16;
+
+    private double[] diagonal = new double[0];
+
+    /*
+     * Performs every Householder reflection on the transposed matrix in place,
+     * keeping the diagonal of the upper triangular matrix.
+     */
+    public void ReflectNative(Matrix_ matrix) {
+        Matrix plugin = Matrix.Plugin(matrix);
+        double[] t = plugin.getValues();
+        int n = plugin.GetRows();
+        int m = plugin.GetColumns();
+        int size = java.lang.Math.min(n, m);
+        diagonal = new double[size];
+
+        for (int minor = 0; minor < size; minor++) {
+            int minorOffset = minor * m;
+            double xNormSqr = 0;
+            for (int row = minor; row < m; row++) {
+                double c = t[minorOffset + row];
+                xNormSqr += c * c;
+            }
+
+            double a = t[minorOffset + minor] > 0 ? -java.lang.Math.sqrt(xNormSqr) : java.lang.Math.sqrt(xNormSqr);
+            diagonal[minor] = a;
+            if (a == 0.0) {
+                continue;
+            }
+
+            t[minorOffset + minor] -= a;
+            double scale = a * t[minorOffset + minor];
+            int current = minor;
+            IntStream columns = IntStream.range(minor + 1, n);
+            if ((long) (n - minor - 1) * (m - minor) >= PARALLEL_WORK) {
+                columns = columns.parallel();
+            }
+            columns.forEach(column -> {
+                int offset = column * m;
+                double alpha = 0;
+                for (int row = current; row < m; row++) {
+                    alpha -= t[offset + row] * t[minorOffset + row];
+                }
+                alpha /= scale;
+                for (int row = current; row < m; row++) {
+                    t[offset + row] -= alpha * t[minorOffset + row];
+                }
+            });
+        }
+    }
+
+    public double GetDiagonalNative(int index) {
+        return diagonal[index];
+    }
+
+    /* calculates the transposed orthonormal matrix from the reflectors */
+    public void OrthonormalNative(Matrix_ matrix, Matrix_ result) {
+        Matrix plugin = Matrix.Plugin(matrix);
+        double[] t = plugin.getValues();
+        int n = plugin.GetRows();
+        int m = plugin.GetColumns();
+        int min = java.lang.Math.min(n, m);
+        double[] qta = new double[m * m];
+
+        for (int minor = m - 1; minor >= min; minor--) {
+            qta[minor * m + minor] = 1.0;
+        }
+
+        for (int minor = min - 1; minor >= 0; minor--) {
+            int minorOffset = minor * m;
+            qta[minorOffset + minor] = 1.0;
+            if (t[minorOffset + minor] == 0.0) {
+                continue;
+            }
+            double scale = diagonal[minor] * t[minorOffset + minor];
+            int current = minor;
+            IntStream columns = IntStream.range(minor, m);
+            if ((long) (m - minor) * (m - minor) >= PARALLEL_WORK) {
+                columns = columns.parallel();
+            }
+            columns.forEach(column -> {
+                int offset = column * m;
+                double alpha = 0;
+                for (int row = current; row < m; row++) {
+                    alpha -= qta[offset + row] * t[minorOffset + row];
+                }
+                alpha /= scale;
+                for (int row = current; row < m; row++) {
+                    qta[offset + row] += -alpha * t[minorOffset + row];
+                }
+            });
+        }
+        Matrix.Plugin(result).setValues(qta, m, m);
+    }
+
+    /* solves for the vector in the least squares sense, writing into result */
+    public void SolveNative(Matrix_ matrix, Vector_ vector, Vector_ result) {
+        Matrix plugin = Matrix.Plugin(matrix);
+        double[] t = plugin.getValues();
+        int n = plugin.GetRows();
+        int m = plugin.GetColumns();
+        int min = java.lang.Math.min(n, m);
+
+        double[] y = new double[m];
+        for (int i = 0; i < m; i++) {
+            y[i] = vector.Get(i);
+        }
+
+        //apply the Householder transforms to solve Q.y = b
+        for (int minor = 0; minor < min; minor++) {
+            int minorOffset = minor * m;
+            double dotProduct = 0;
+            for (int row = minor; row < m; row++) {
+                dotProduct += y[row] * t[minorOffset + row];
+            }
+            dotProduct /= diagonal[minor] * t[minorOffset + minor];
+            for (int row = minor; row < m; row++) {
+                y[row] += dotProduct * t[minorOffset + row];
+            }
+        }
+
+        //then back substitute through the upper triangular matrix
+        for (int row = diagonal.length - 1; row >= 0; row--) {
+            y[row] /= diagonal[row];
+            double yRow = y[row];
+            result.Set(row, yRow);
+            int offset = row * m;
+            for (int i = 0; i < row; i++) {
+                y[i] -= yRow * t[offset + i];
+            }
+        }
+    }
+}
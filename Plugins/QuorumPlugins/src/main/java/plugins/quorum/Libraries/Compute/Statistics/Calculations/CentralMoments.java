@@ -0,0 +1,232 @@
+package plugins.quorum.Libraries.Compute.Statistics.Calculations;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+
+/**
+ * The native side of Libraries.Compute.Statistics.Calculations.CentralMoments.
+ *
+ * Values are folded in one at a time with Welford's update, extended to the
+ * third and fourth central moments. Number and integer columns are split into
+ * chunks that run on the common fork/join pool, and the partial results are
+ * merged pairwise with the formulas from Pébay (2008), so the whole column is
+ * read once no matter how many statistics are asked for.
+ *
+ * @author Andreas Stefik
+ */
+public class CentralMoments {
+    public java.lang.Object me_ = null;
+
+    /* chunks smaller than this are not worth handing to another thread */
+    private static final int CHUNK = 1 << 16;
+
+    private long size = 0;
+    private double mean = 0;
+    private double m2 = 0;
+    private double m3 = 0;
+    private double m4 = 0;
+    private double sum = 0;
+    private double minimum = 0;
+    private double maximum = 0;
+
+    public void AddNative(double value) {
+        long previous = size;
+        size++;
+        double n = size;
+        double delta = value - mean;
+        double deltaN = delta / n;
+        double deltaN2 = deltaN * deltaN;
+        double term = delta * deltaN * previous;
+        mean = mean + deltaN;
+        m4 = m4 + term * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 = m3 + term * deltaN * (n - 2) - 3 * deltaN * m2;
+        m2 = m2 + term;
+        sum = sum + value;
+        if (previous == 0 || value < minimum) {
+            minimum = value;
+        }
+        if (previous == 0 || value > maximum) {
+            maximum = value;
+        }
+    }
+
+    /*
+     * Folds in every defined value of a number or integer column, in
+     * parallel for large columns. Other columns are read one value at a time.
+     */
+    public void CalculateNative(DataFrameColumn_ column) {
+        CentralMoments result;
+        if (column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.NumberColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+            result = Calculate(new Chunk(plugin.getValues(), null, plugin.getUndefined(), 0, plugin.GetSizeNative()));
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.IntegerColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+            result = Calculate(new Chunk(null, plugin.getValues(), plugin.getUndefined(), 0, plugin.GetSizeNative()));
+        } else {
+            result = new CentralMoments();
+            for (int row = 0; row < column.GetSize(); row++) {
+                if (!column.IsUndefined(row)) {
+                    result.AddNative(column.GetAsNumber(row));
+                }
+            }
+        }
+        Merge(result);
+    }
+
+    public void EmptyNative() {
+        size = 0;
+        mean = 0;
+        m2 = 0;
+        m3 = 0;
+        m4 = 0;
+        sum = 0;
+        minimum = 0;
+        maximum = 0;
+    }
+
+    public int GetSize() {
+        return (int) size;
+    }
+
+    public double GetMean() {
+        return mean;
+    }
+
+    public double GetSum() {
+        return sum;
+    }
+
+    public double GetMinimum() {
+        return minimum;
+    }
+
+    public double GetMaximum() {
+        return maximum;
+    }
+
+    /*
+     * Returns the sum of (value - mean) raised to the power, for powers two
+     * through four. The first central sum is always zero.
+     */
+    public double GetCentralSum(int power) {
+        switch (power) {
+            case 0:
+                return size;
+            case 1:
+                return 0;
+            case 2:
+                return m2;
+            case 3:
+                return m3;
+            case 4:
+                return m4;
+            default:
+                throw new IllegalArgumentException("Central sums are only kept up to the fourth power, not " + power + ".");
+        }
+    }
+
+    /*
+     * Combines the moments of another set of values into these, as if every
+     * value had been added here.
+     */
+    private void Merge(CentralMoments other) {
+        if (other.size == 0) {
+            return;
+        }
+        if (size == 0) {
+            size = other.size;
+            mean = other.mean;
+            m2 = other.m2;
+            m3 = other.m3;
+            m4 = other.m4;
+            sum = other.sum;
+            minimum = other.minimum;
+            maximum = other.maximum;
+            return;
+        }
+
+        double a = size;
+        double b = other.size;
+        double n = a + b;
+        double delta = other.mean - mean;
+        double delta2 = delta * delta;
+        double delta3 = delta2 * delta;
+        double delta4 = delta2 * delta2;
+
+        double newM2 = m2 + other.m2 + delta2 * a * b / n;
+        double newM3 = m3 + other.m3 + delta3 * a * b * (a - b) / (n * n)
+            + 3 * delta * (a * other.m2 - b * m2) / n;
+        double newM4 = m4 + other.m4 + delta4 * a * b * (a * a - a * b + b * b) / (n * n * n)
+            + 6 * delta2 * (a * a * other.m2 + b * b * m2) / (n * n)
+            + 4 * delta * (a * other.m3 - b * m3) / n;
+
+        mean = mean + delta * b / n;
+        m2 = newM2;
+        m3 = newM3;
+        m4 = newM4;
+        size = size + other.size;
+        sum = sum + other.sum;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    private static CentralMoments Calculate(Chunk chunk) {
+        if (chunk.end - chunk.start <= CHUNK) {
+            return chunk.compute();
+        }
+        return ForkJoinPool.commonPool().invoke(chunk);
+    }
+
+    /*
+     * A range of rows in a number or integer column. Large ranges split in
+     * half and merge the moments of each half.
+     */
+    private static final class Chunk extends RecursiveTask<CentralMoments> {
+        private final double[] numbers;
+        private final int[] integers;
+        private final BitSet undefined;
+        private final int start;
+        private final int end;
+
+        Chunk(double[] numbers, int[] integers, BitSet undefined, int start, int end) {
+            this.numbers = numbers;
+            this.integers = integers;
+            this.undefined = undefined;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected CentralMoments compute() {
+            if (end - start > CHUNK) {
+                int middle = (start + end) >>> 1;
+                Chunk left = new Chunk(numbers, integers, undefined, start, middle);
+                Chunk right = new Chunk(numbers, integers, undefined, middle, end);
+                left.fork();
+                CentralMoments result = right.compute();
+                CentralMoments first = left.join();
+                first.Merge(result);
+                return first;
+            }
+
+            CentralMoments result = new CentralMoments();
+            int row = undefined.nextClearBit(start);
+            if (numbers != null) {
+                while (row < end) {
+                    result.AddNative(numbers[row]);
+                    row = undefined.nextClearBit(row + 1);
+                }
+            } else {
+                while (row < end) {
+                    result.AddNative(integers[row]);
+                    row = undefined.nextClearBit(row + 1);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package plugins.quorum.Libraries.Compute.Statistics.Columns;
+
+import java.util.BitSet;
+import quorum.Libraries.Compute.Statistics.Columns.BooleanColumn_;
+import quorum.Libraries.Language.Errors.InvalidLocationError;
+
+/**
+ * The native storage for Libraries.Compute.Statistics.Columns.BooleanColumn,
+ * which keeps its values as bits, next to the bits for undefined rows.
+ *
+ * @author Andreas Stefik
+ */
+public class BooleanColumn extends PrimitiveColumn {
+    private final BitSet values = new BitSet();
+
+    /*
+     * The values themselves, for native code working on the column. Only the
+     * first size values are in use, and undefined rows hold the default.
+     */
+    public BitSet getValues() {
+        return values;
+    }
+
+    /*
+     * Replaces every row with values native code has already read.
+     */
+    public void setValues(BitSet values, BitSet undefined, int size) {
+        this.values.clear();
+        this.values.or(values);
+        ReplaceRows(undefined, size);
+        if (values.length() > size) {
+            this.values.clear(size, values.length());
+        }
+    }
+
+    @Override
+    protected int GetCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected void SetCapacity(int capacity) {
+    }
+
+    @Override
+    protected void ClearValues(int from, int to) {
+        values.clear(from, to);
+    }
+
+    @Override
+    protected void MoveValue(int from, int to) {
+        values.set(to, values.get(from));
+    }
+
+    @Override
+    protected void SwapValues(int left, int right) {
+        boolean temp = values.get(left);
+        values.set(left, values.get(right));
+        values.set(right, temp);
+    }
+
+    public void AddNative(boolean value) {
+        values.set(size, value);
+        size++;
+    }
+
+    public boolean GetNative(int row) throws InvalidLocationError {
+        CheckLocation(row);
+        return values.get(row);
+    }
+
+    public void SetNative(int row, boolean value) throws InvalidLocationError {
+        CheckLocation(row);
+        values.set(row, value);
+        undefined.clear(row);
+    }
+
+    /*
+     * Appends the rows in [start, end) to the end of another column, then
+     * optionally removes repeated values from it and sorts it.
+     */
+    public void CopyNative(BooleanColumn_ column, int start, int end, boolean sort, boolean unique) throws InvalidLocationError {
+        CheckRange(start, end);
+        BooleanColumn target = ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) column).plugin_;
+        if (end > start) {
+            Append(target, start, end);
+        }
+        if (unique) {
+            target.UniqueNative();
+        }
+        if (sort) {
+            target.SortNative();
+        }
+    }
+
+    private void Append(BooleanColumn target, int start, int end) {
+        int offset = target.size - start;
+        for (int i = values.nextSetBit(start); i >= 0 && i < end; i = values.nextSetBit(i + 1)) {
+            target.values.set(i + offset);
+        }
+        AppendUndefined(target, start, end);
+        target.size += end - start;
+    }
+
+    /*
+     * Sorts the column in place: undefined values, then false, then true.
+     */
+    public void SortNative() {
+        int missing = undefined.cardinality();
+        int trues = 0;
+        for (int i = values.nextSetBit(0); i >= 0 && i < size; i = values.nextSetBit(i + 1)) {
+            if (!undefined.get(i)) {
+                trues++;
+            }
+        }
+        values.clear();
+        values.set(size - trues, size);
+        undefined.clear();
+        undefined.set(0, missing);
+    }
+
+    /*
+     * Keeps the first copy of each defined value, in order, and removes
+     * undefined values.
+     */
+    public void UniqueNative() {
+        int next = 0;
+        boolean seenTrue = false;
+        boolean seenFalse = false;
+        for (int i = 0; i < size && !(seenTrue && seenFalse); i++) {
+            if (undefined.get(i)) {
+                continue;
+            }
+            boolean value = values.get(i);
+            if (value && !seenTrue) {
+                seenTrue = true;
+                values.set(next++, true);
+            } else if (!value && !seenFalse) {
+                seenFalse = true;
+                values.set(next++, false);
+            }
+        }
+        values.clear(next, Math.max(next, size));
+        undefined.clear();
+        size = next;
+    }
+}
@@ -0,0 +1,184 @@
+package plugins.quorum.Libraries.Compute.Statistics.Columns;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import quorum.Libraries.Compute.Statistics.Columns.IntegerColumn_;
+import quorum.Libraries.Language.Errors.InvalidLocationError;
+
+/**
+ * The native storage for Libraries.Compute.Statistics.Columns.IntegerColumn,
+ * which keeps its values in an int array.
+ *
+ * @author Andreas Stefik
+ */
+public class IntegerColumn extends PrimitiveColumn {
+    private int[] values = new int[0];
+
+    /*
+     * The values themselves, for native code working on the column. Only the
+     * first size values are in use, and undefined rows hold the default.
+     */
+    public int[] getValues() {
+        return values;
+    }
+
+    /*
+     * Replaces every row with values native code has already read. The array
+     * is kept, not copied, and may be longer than size.
+     */
+    public void setValues(int[] values, BitSet undefined, int size) {
+        this.values = values;
+        ReplaceRows(undefined, size);
+    }
+
+    @Override
+    protected int GetCapacity() {
+        return values.length;
+    }
+
+    @Override
+    protected void SetCapacity(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void ClearValues(int from, int to) {
+        Arrays.fill(values, from, to, 0);
+    }
+
+    @Override
+    protected void MoveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void SwapValues(int left, int right) {
+        int temp = values[left];
+        values[left] = values[right];
+        values[right] = temp;
+    }
+
+    public void AddNative(int value) {
+        Grow(size + 1);
+        values[size] = value;
+        size++;
+    }
+
+    public int GetNative(int row) throws InvalidLocationError {
+        CheckLocation(row);
+        return values[row];
+    }
+
+    public void SetNative(int row, int value) throws InvalidLocationError {
+        CheckLocation(row);
+        values[row] = value;
+        undefined.clear(row);
+    }
+
+    /*
+     * Appends the rows in [start, end) to the end of another column, then
+     * optionally removes repeated values from it and sorts it.
+     */
+    public void CopyNative(IntegerColumn_ column, int start, int end, boolean sort, boolean unique) throws InvalidLocationError {
+        CheckRange(start, end);
+        IntegerColumn target = ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+        if (end > start) {
+            Append(target, start, end);
+        }
+        if (unique) {
+            target.UniqueNative();
+        }
+        if (sort) {
+            target.SortNative();
+        }
+    }
+
+    private void Append(IntegerColumn target, int start, int end) {
+        int length = end - start;
+        target.Grow(target.size + length);
+        System.arraycopy(values, start, target.values, target.size, length);
+        AppendUndefined(target, start, end);
+        target.size += length;
+    }
+
+    /*
+     * Sorts the column in place, with undefined values first, which is the
+     * order DataFrameColumn:Compare gives.
+     */
+    public void SortNative() {
+        int count = undefined.cardinality();
+        if (count == 0) {
+            Arrays.sort(values, 0, size);
+            return;
+        }
+        int[] defined = Defined(count);
+        Arrays.sort(defined);
+        Arrays.fill(values, 0, count, 0);
+        System.arraycopy(defined, 0, values, count, defined.length);
+        undefined.clear();
+        undefined.set(0, count);
+    }
+
+    /*
+     * Keeps the first copy of each defined value, in order, and removes
+     * undefined values.
+     */
+    public void UniqueNative() {
+        Set<Integer> seen = new HashSet<>();
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (!undefined.get(i) && seen.add(values[i])) {
+                values[next++] = values[i];
+            }
+        }
+        ClearValues(next, size);
+        undefined.clear();
+        size = next;
+    }
+
+    /*
+     * Adds up (value - center) raised to the given power over every defined
+     * value, in double precision. The int array is read in place, one run of
+     * defined rows at a time.
+     */
+    public double SumOfPowersNative(double center, int power) {
+        double sum = 0;
+        int start = undefined.nextClearBit(0);
+        while (start < size) {
+            int end = undefined.nextSetBit(start);
+            if (end < 0 || end > size) {
+                end = size;
+            }
+            sum += SumOfPowers(values, start, end, center, power);
+            start = undefined.nextClearBit(end);
+        }
+        return sum;
+    }
+
+    static double SumOfPowers(int[] array, int start, int end, double center, int power) {
+        double a = 0, b = 0, c = 0, d = 0;
+        int i = start;
+        int last = end - ((end - start) % 4);
+        for (; i < last; i += 4) {
+            a += NumberColumn.Power(array[i] - center, power);
+            b += NumberColumn.Power(array[i + 1] - center, power);
+            c += NumberColumn.Power(array[i + 2] - center, power);
+            d += NumberColumn.Power(array[i + 3] - center, power);
+        }
+        for (; i < end; i++) {
+            a += NumberColumn.Power(array[i] - center, power);
+        }
+        return (a + b) + (c + d);
+    }
+
+    private int[] Defined(int undefinedCount) {
+        int[] defined = new int[size - undefinedCount];
+        int next = 0;
+        for (int i = undefined.nextClearBit(0); i < size; i = undefined.nextClearBit(i + 1)) {
+            defined[next++] = values[i];
+        }
+        return defined;
+    }
+}
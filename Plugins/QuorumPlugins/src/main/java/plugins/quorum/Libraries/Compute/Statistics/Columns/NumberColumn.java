@@ -0,0 +1,195 @@
+package plugins.quorum.Libraries.Compute.Statistics.Columns;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import quorum.Libraries.Compute.Statistics.Columns.NumberColumn_;
+import quorum.Libraries.Language.Errors.InvalidLocationError;
+
+/**
+ * The native storage for Libraries.Compute.Statistics.Columns.NumberColumn,
+ * which keeps its values in a double array.
+ *
+ * @author Andreas Stefik
+ */
+public class NumberColumn extends PrimitiveColumn {
+    private double[] values = new double[0];
+
+    /*
+     * The values themselves, for native code working on the column. Only the
+     * first size values are in use, and undefined rows hold the default.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /*
+     * Replaces every row with values native code has already read. The array
+     * is kept, not copied, and may be longer than size.
+     */
+    public void setValues(double[] values, BitSet undefined, int size) {
+        this.values = values;
+        ReplaceRows(undefined, size);
+    }
+
+    @Override
+    protected int GetCapacity() {
+        return values.length;
+    }
+
+    @Override
+    protected void SetCapacity(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void ClearValues(int from, int to) {
+        Arrays.fill(values, from, to, 0);
+    }
+
+    @Override
+    protected void MoveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void SwapValues(int left, int right) {
+        double temp = values[left];
+        values[left] = values[right];
+        values[right] = temp;
+    }
+
+    public void AddNative(double value) {
+        Grow(size + 1);
+        values[size] = value;
+        size++;
+    }
+
+    public double GetNative(int row) throws InvalidLocationError {
+        CheckLocation(row);
+        return values[row];
+    }
+
+    public void SetNative(int row, double value) throws InvalidLocationError {
+        CheckLocation(row);
+        values[row] = value;
+        undefined.clear(row);
+    }
+
+    /*
+     * Appends the rows in [start, end) to the end of another column, then
+     * optionally removes repeated values from it and sorts it.
+     */
+    public void CopyNative(NumberColumn_ column, int start, int end, boolean sort, boolean unique) throws InvalidLocationError {
+        CheckRange(start, end);
+        NumberColumn target = ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+        if (end > start) {
+            Append(target, start, end);
+        }
+        if (unique) {
+            target.UniqueNative();
+        }
+        if (sort) {
+            target.SortNative();
+        }
+    }
+
+    private void Append(NumberColumn target, int start, int end) {
+        int length = end - start;
+        target.Grow(target.size + length);
+        System.arraycopy(values, start, target.values, target.size, length);
+        AppendUndefined(target, start, end);
+        target.size += length;
+    }
+
+    /*
+     * Sorts the column in place, with undefined values first, which is the
+     * order DataFrameColumn:Compare gives.
+     */
+    public void SortNative() {
+        int count = undefined.cardinality();
+        if (count == 0) {
+            Arrays.sort(values, 0, size);
+            return;
+        }
+        double[] defined = Defined(count);
+        Arrays.sort(defined);
+        Arrays.fill(values, 0, count, 0);
+        System.arraycopy(defined, 0, values, count, defined.length);
+        undefined.clear();
+        undefined.set(0, count);
+    }
+
+    /*
+     * Keeps the first copy of each defined value, in order, and removes
+     * undefined values.
+     */
+    public void UniqueNative() {
+        Set<Double> seen = new HashSet<>();
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (!undefined.get(i) && seen.add(values[i])) {
+                values[next++] = values[i];
+            }
+        }
+        ClearValues(next, size);
+        undefined.clear();
+        size = next;
+    }
+
+    /*
+     * Adds up (value - center) raised to the given power over every defined
+     * value. Columns without undefined values are summed in one tight loop
+     * over the array with several accumulators.
+     */
+    public double SumOfPowersNative(double center, int power) {
+        if (undefined.isEmpty()) {
+            return SumOfPowers(values, size, center, power);
+        }
+        return SumOfPowers(Defined(undefined.cardinality()), size - undefined.cardinality(), center, power);
+    }
+
+    static double SumOfPowers(double[] array, int length, double center, int power) {
+        double a = 0, b = 0, c = 0, d = 0;
+        int i = 0;
+        int last = length - (length % 4);
+        for (; i < last; i += 4) {
+            a += Power(array[i] - center, power);
+            b += Power(array[i + 1] - center, power);
+            c += Power(array[i + 2] - center, power);
+            d += Power(array[i + 3] - center, power);
+        }
+        for (; i < length; i++) {
+            a += Power(array[i] - center, power);
+        }
+        return (a + b) + (c + d);
+    }
+
+    static double Power(double value, int power) {
+        switch (power) {
+            case 0:
+                return 1;
+            case 1:
+                return value;
+            case 2:
+                return value * value;
+            case 3:
+                return value * value * value;
+            case 4:
+                double square = value * value;
+                return square * square;
+            default:
+                return Math.pow(value, power);
+        }
+    }
+
+    private double[] Defined(int undefinedCount) {
+        double[] defined = new double[size - undefinedCount];
+        int next = 0;
+        for (int i = undefined.nextClearBit(0); i < size; i = undefined.nextClearBit(i + 1)) {
+            defined[next++] = values[i];
+        }
+        return defined;
+    }
+}
@@ -0,0 +1,148 @@
+package plugins.quorum.Libraries.Compute.Statistics.Columns;
+
+import java.util.BitSet;
+import quorum.Libraries.Language.Errors.InvalidLocationError;
+
+/**
+ * The shared part of the native storage for the columns that keep their
+ * values in a primitive array. Undefined rows are kept in a bitmap, so an
+ * undefined value costs one bit and the value slot is left at its default.
+ * Subclasses own the array itself.
+ *
+ * @author Andreas Stefik
+ */
+public abstract class PrimitiveColumn {
+    public java.lang.Object me_ = null;
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    protected final BitSet undefined = new BitSet();
+    protected int size = 0;
+
+    protected abstract int GetCapacity();
+
+    /* resizes the array, keeping the first size values */
+    protected abstract void SetCapacity(int capacity);
+
+    /* resets the values in [from, to) to the default for the type */
+    protected abstract void ClearValues(int from, int to);
+
+    protected abstract void MoveValue(int from, int to);
+
+    protected abstract void SwapValues(int left, int right);
+
+    protected void Grow(int minimum) {
+        int capacity = GetCapacity();
+        if (minimum > capacity) {
+            SetCapacity(Math.max(minimum, Math.max(DEFAULT_CAPACITY, capacity * 2)));
+        }
+    }
+
+    protected void CheckLocation(int row) throws InvalidLocationError {
+        if (row < 0 || row >= size) {
+            InvalidLocationError error = new InvalidLocationError();
+            error.SetErrorMessage("The row " + row + " is not in a column with " + size + " rows.");
+            throw error;
+        }
+    }
+
+    /* the rows that are undefined, for native code working on the column */
+    public BitSet getUndefined() {
+        return undefined;
+    }
+
+    /*
+     * Replaces which rows are undefined and the size, for native code that
+     * has read a whole column at once. The subclass replaces the values.
+     */
+    protected void ReplaceRows(BitSet rows, int newSize) {
+        undefined.clear();
+        undefined.or(rows);
+        if (rows.length() > newSize) {
+            undefined.clear(newSize, rows.length());
+        }
+        size = newSize;
+    }
+
+    public int GetSizeNative() {
+        return size;
+    }
+
+    /*
+     * Growing a column fills the new rows with undefined, like
+     * Array:SetSize. Shrinking it resets the rows it drops, so none of their
+     * values are left behind past the end.
+     */
+    public void SetSizeNative(int newSize) throws InvalidLocationError {
+        if (newSize < 0) {
+            throw new InvalidLocationError();
+        }
+        if (newSize > size) {
+            Grow(newSize);
+            ClearValues(size, newSize);
+            undefined.set(size, newSize);
+        } else {
+            ClearValues(newSize, size);
+            undefined.clear(newSize, size);
+        }
+        size = newSize;
+    }
+
+    public boolean IsUndefinedNative(int row) throws InvalidLocationError {
+        CheckLocation(row);
+        return undefined.get(row);
+    }
+
+    public void SetUndefinedNative(int row) throws InvalidLocationError {
+        CheckLocation(row);
+        ClearValues(row, row + 1);
+        undefined.set(row);
+    }
+
+    public void AddUndefinedNative() {
+        Grow(size + 1);
+        ClearValues(size, size + 1);
+        undefined.set(size);
+        size++;
+    }
+
+    public int GetUndefinedSizeNative() {
+        return undefined.cardinality();
+    }
+
+    public void SwapNative(int left, int right) throws InvalidLocationError {
+        CheckLocation(left);
+        CheckLocation(right);
+        SwapValues(left, right);
+        boolean temp = undefined.get(left);
+        undefined.set(left, undefined.get(right));
+        undefined.set(right, temp);
+    }
+
+    public void MoveNative(int from, int to) throws InvalidLocationError {
+        CheckLocation(from);
+        CheckLocation(to);
+        MoveValue(from, to);
+        undefined.set(to, undefined.get(from));
+    }
+
+    /*
+     * Copies which of the rows in [start, end) are undefined onto the end of
+     * another column. The caller copies the values and updates its size.
+     */
+    protected void AppendUndefined(PrimitiveColumn target, int start, int end) {
+        int offset = target.size - start;
+        for (int i = undefined.nextSetBit(start); i >= 0 && i < end; i = undefined.nextSetBit(i + 1)) {
+            target.undefined.set(i + offset);
+        }
+    }
+
+    /*
+     * Ranges that end before they start are empty, which is how CopyEmpty
+     * asks for no rows.
+     */
+    protected void CheckRange(int start, int end) throws InvalidLocationError {
+        if (start < 0 || end > size) {
+            throw new InvalidLocationError();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package plugins.quorum.Libraries.Compute.Statistics.Loaders;
+
+import java.nio.ByteOrder;
+
+/**
+ * The layout of the binary DataFrame files written by BinaryDataFrameSaver
+ * and read by BinaryDataFrameLoader. Every value is little endian.
+ *
+ * The file starts with the four bytes "QDF1" and the number of columns. A
+ * directory follows, with one entry per column: its type tag (one byte),
+ * its number of rows, the position and length in bytes of its data, and its
+ * header as a length and UTF-8 bytes. A length of -1 is an undefined header.
+ *
+ * The data for each column starts with a validity bitmap, one bit per row
+ * packed into longs, where a set bit is a defined row. Number columns then
+ * hold a double per row and integer columns an int per row. Boolean columns
+ * hold a second bitmap with the values. Date and time columns hold a double
+ * per row, the milliseconds since the epoch. Big integer columns, and every
+ * other column, are stored as text, encoded with a dictionary: an int per
+ * row indexing into the dictionary, or -1 for undefined, then the number of
+ * dictionary entries and each entry as a length and UTF-8 bytes.
+ *
+ * @author Andreas Stefik
+ */
+final class BinaryDataFrameFormat {
+    static final byte[] MAGIC = {'Q', 'D', 'F', '1'};
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final byte NUMBER = 0;
+    static final byte INTEGER = 1;
+    static final byte BOOLEAN = 2;
+    static final byte TEXT = 3;
+    static final byte DATE_TIME = 4;
+    static final byte BIG_INTEGER = 5;
+
+    private BinaryDataFrameFormat() {
+    }
+
+    /* the number of longs in a bitmap with one bit per row */
+    static int Words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+}
@@ -0,0 +1,279 @@
+package plugins.quorum.Libraries.Compute.Statistics.Loaders;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+import quorum.Libraries.Language.Errors.InputOutputError;
+import quorum.Libraries.System.File_;
+
+/**
+ * The native side of Libraries.Compute.Statistics.Loaders.BinaryDataFrameLoader.
+ * Opening reads only the directory, and each column is read on its own when it
+ * is asked for. Number, integer and boolean columns are read through the file
+ * channel into one reused buffer and copied in bulk straight into the arrays
+ * the columns keep, with nothing parsed. The file is not memory mapped, since
+ * a mapping stays open until it is garbage collected, and on Windows an open
+ * mapping stops the file from being saved over. Date and time columns are
+ * rebuilt from their epoch milliseconds. See BinaryDataFrameFormat for the
+ * layout.
+ *
+ * @author Andreas Stefik
+ */
+public class BinaryDataFrameLoader {
+    public java.lang.Object me_ = null;
+
+    /* the size of the buffer that arrays of values are read through */
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    /* the type, rows, offset, length and header length of a directory entry */
+    private static final int ENTRY_SIZE = 1 + 4 + 8 + 8 + 4;
+
+    private FileChannel channel = null;
+    private ByteBuffer block = null;
+    private byte[] types = new byte[0];
+    private int[] rows = new int[0];
+    private long[] offsets = new long[0];
+    private long[] lengths = new long[0];
+    private String[] headers = new String[0];
+
+    public int OpenNative(File_ file) throws InputOutputError {
+        try {
+            Close();
+            channel = FileChannel.open(Paths.get(file.GetAbsolutePath()), StandardOpenOption.READ);
+            if (block == null) {
+                block = ByteBuffer.allocateDirect(BLOCK_SIZE).order(BinaryDataFrameFormat.ORDER);
+            }
+
+            byte[] magic = new byte[BinaryDataFrameFormat.MAGIC.length];
+            if (channel.size() < magic.length + 4) {
+                throw new IOException("The file is too short to be a binary DataFrame.");
+            }
+            ByteBuffer start = Read(0, magic.length + 4);
+            start.get(magic);
+            if (!Arrays.equals(magic, BinaryDataFrameFormat.MAGIC)) {
+                throw new IOException("The file is not a binary DataFrame.");
+            }
+
+            int count = start.getInt();
+            if (count < 0 || count > channel.size() / ENTRY_SIZE) {
+                throw new IOException("The binary DataFrame is damaged.");
+            }
+            types = new byte[count];
+            rows = new int[count];
+            offsets = new long[count];
+            lengths = new long[count];
+            headers = new String[count];
+            long position = start.limit();
+            for (int i = 0; i < count; i++) {
+                ByteBuffer entry = Read(position, ENTRY_SIZE);
+                position = position + ENTRY_SIZE;
+                types[i] = entry.get();
+                rows[i] = entry.getInt();
+                offsets[i] = entry.getLong();
+                lengths[i] = entry.getLong();
+                int length = entry.getInt();
+                if (length >= 0) {
+                    ByteBuffer header = Read(position, length);
+                    position = position + length;
+                    headers[i] = new String(header.array(), 0, length, StandardCharsets.UTF_8);
+                }
+            }
+            return count;
+        } catch (IOException ex) {
+            throw Error(ex);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException ex) {
+            throw Error(new IOException("The binary DataFrame is damaged.", ex));
+        }
+    }
+
+    public int GetColumnType(int column) {
+        return types[column];
+    }
+
+    public String GetHeader(int column) {
+        return headers[column];
+    }
+
+    /*
+     * Reads a column into the target. A target of the matching primitive type
+     * takes the values directly. Any other target gets each value added as
+     * text, so a column chosen with AddColumnOnLoad converts them itself.
+     */
+    public void ReadNative(int column, DataFrameColumn_ target) throws InputOutputError {
+        try {
+            int size = rows[column];
+            long position = offsets[column];
+            int words = BinaryDataFrameFormat.Words(size);
+            BitSet undefined = BitSet.valueOf(ReadLongs(position, words));
+            undefined.flip(0, size);
+            position = position + 8L * words;
+
+            byte type = types[column];
+            if (type == BinaryDataFrameFormat.NUMBER) {
+                double[] values = ReadDoubles(position, size);
+                if (target instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+                    ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) target).plugin_.setValues(values, undefined, size);
+                } else {
+                    for (int row = 0; row < size; row++) {
+                        target.Add(undefined.get(row) ? null : String.valueOf(values[row]));
+                    }
+                }
+            } else if (type == BinaryDataFrameFormat.INTEGER) {
+                int[] values = ReadInts(position, size);
+                if (target instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+                    ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) target).plugin_.setValues(values, undefined, size);
+                } else {
+                    for (int row = 0; row < size; row++) {
+                        target.Add(undefined.get(row) ? null : String.valueOf(values[row]));
+                    }
+                }
+            } else if (type == BinaryDataFrameFormat.BOOLEAN) {
+                BitSet values = BitSet.valueOf(ReadLongs(position, words));
+                if (target instanceof quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) {
+                    ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) target).plugin_.setValues(values, undefined, size);
+                } else {
+                    for (int row = 0; row < size; row++) {
+                        target.Add(undefined.get(row) ? null : String.valueOf(values.get(row)));
+                    }
+                }
+            } else if (type == BinaryDataFrameFormat.DATE_TIME) {
+                double[] values = ReadDoubles(position, size);
+                boolean dates = target instanceof quorum.Libraries.Compute.Statistics.Columns.DateTimeColumn;
+                for (int row = 0; row < size; row++) {
+                    quorum.Libraries.System.DateTime_ value = null;
+                    if (!undefined.get(row)) {
+                        value = new quorum.Libraries.System.DateTime();
+                        value.SetEpochTime(values[row]);
+                    }
+                    if (dates) {
+                        ((quorum.Libraries.Compute.Statistics.Columns.DateTimeColumn) target).Add(value);
+                    } else {
+                        target.Add(value == null ? null : value.GetTimestamp());
+                    }
+                }
+            } else {
+                int[] indices = ReadInts(position, size);
+                position = position + 4L * size;
+                long length = offsets[column] + lengths[column] - position;
+                if (length < 0 || length > Integer.MAX_VALUE) {
+                    throw new IOException("The binary DataFrame is damaged.");
+                }
+                ByteBuffer entries = Read(position, (int) length);
+                String[] dictionary = new String[entries.getInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    byte[] bytes = new byte[entries.getInt()];
+                    entries.get(bytes);
+                    dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+                for (int row = 0; row < size; row++) {
+                    int index = indices[row];
+                    target.Add(index < 0 ? null : dictionary[index]);
+                }
+            }
+        } catch (IOException ex) {
+            throw Error(ex);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException ex) {
+            throw Error(new IOException("The binary DataFrame is damaged.", ex));
+        }
+    }
+
+    public void Close() throws InputOutputError {
+        types = new byte[0];
+        rows = new int[0];
+        offsets = new long[0];
+        lengths = new long[0];
+        headers = new String[0];
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw Error(ex);
+        } finally {
+            channel = null;
+        }
+    }
+
+    /*
+     * Reads length bytes starting at position into a new buffer, ready to be
+     * read from.
+     */
+    private ByteBuffer Read(long position, int length) throws IOException {
+        if (length > channel.size() - position) {
+            throw new IOException("The binary DataFrame ends before all of its data.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(BinaryDataFrameFormat.ORDER);
+        ReadFully(buffer, position);
+        buffer.flip();
+        return buffer;
+    }
+
+    /*
+     * Reads length bytes starting at position into the shared block, ready
+     * to be read from.
+     */
+    private ByteBuffer ReadBlock(long position, int length) throws IOException {
+        block.clear();
+        block.limit(length);
+        ReadFully(block, position);
+        block.flip();
+        return block;
+    }
+
+    private void ReadFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("The binary DataFrame ends before all of its data.");
+            }
+            position = position + read;
+        }
+    }
+
+    /* values longer than one block are copied out one block at a time */
+    private double[] ReadDoubles(long position, int count) throws IOException {
+        double[] values = new double[count];
+        int step = BLOCK_SIZE / 8;
+        for (int done = 0; done < count; done += step) {
+            int length = Math.min(step, count - done);
+            ReadBlock(position + 8L * done, 8 * length).asDoubleBuffer().get(values, done, length);
+        }
+        return values;
+    }
+
+    private int[] ReadInts(long position, int count) throws IOException {
+        int[] values = new int[count];
+        int step = BLOCK_SIZE / 4;
+        for (int done = 0; done < count; done += step) {
+            int length = Math.min(step, count - done);
+            ReadBlock(position + 4L * done, 4 * length).asIntBuffer().get(values, done, length);
+        }
+        return values;
+    }
+
+    private long[] ReadLongs(long position, int count) throws IOException {
+        long[] values = new long[count];
+        int step = BLOCK_SIZE / 8;
+        for (int done = 0; done < count; done += step) {
+            int length = Math.min(step, count - done);
+            ReadBlock(position + 8L * done, 8 * length).asLongBuffer().get(values, done, length);
+        }
+        return values;
+    }
+
+    private static InputOutputError Error(IOException ex) {
+        InputOutputError error = new InputOutputError();
+        if (ex.getMessage() != null) {
+            error.SetErrorMessage(ex.getMessage());
+        }
+        return error;
+    }
+}
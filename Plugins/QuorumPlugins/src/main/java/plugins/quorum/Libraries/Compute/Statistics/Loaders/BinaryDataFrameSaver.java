@@ -0,0 +1,232 @@
+package plugins.quorum.Libraries.Compute.Statistics.Loaders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+import quorum.Libraries.Compute.Statistics.DataFrame_;
+import quorum.Libraries.Language.Errors.InputOutputError;
+import quorum.Libraries.System.File_;
+
+/**
+ * The native side of Libraries.Compute.Statistics.Loaders.BinaryDataFrameSaver.
+ * Columns are written one after another through a FileChannel, straight from
+ * the arrays of number, integer and boolean columns. The directory at the
+ * start of the file is written last, once the position of each column is
+ * known. Date and time columns are written as epoch milliseconds and big
+ * integer columns as text, each with its own type tag, so both load back as
+ * the columns they were saved from. See BinaryDataFrameFormat for the layout.
+ *
+ * @author Andreas Stefik
+ */
+public class BinaryDataFrameSaver {
+    public java.lang.Object me_ = null;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private FileChannel channel = null;
+    private ByteBuffer buffer = null;
+
+    public void SaveNative(DataFrame_ frame, File_ file) throws InputOutputError {
+        try (FileChannel output = FileChannel.open(Paths.get(file.GetAbsolutePath()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel = output;
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryDataFrameFormat.ORDER);
+
+            int count = frame.GetSize();
+            DataFrameColumn_[] columns = new DataFrameColumn_[count];
+            byte[][] headers = new byte[count][];
+            long directorySize = BinaryDataFrameFormat.MAGIC.length + 4;
+            for (int i = 0; i < count; i++) {
+                columns[i] = frame.GetColumn(i);
+                String header = columns[i].GetHeader();
+                headers[i] = header == null ? null : header.getBytes(StandardCharsets.UTF_8);
+                directorySize += 1 + 4 + 8 + 8 + 4 + (headers[i] == null ? 0 : headers[i].length);
+            }
+
+            byte[] types = new byte[count];
+            int[] rows = new int[count];
+            long[] offsets = new long[count];
+            long[] lengths = new long[count];
+            channel.position(directorySize);
+            long position = directorySize;
+            for (int i = 0; i < count; i++) {
+                offsets[i] = position;
+                rows[i] = columns[i].GetSize();
+                types[i] = Write(columns[i], rows[i]);
+                Flush();
+                position = channel.position();
+                lengths[i] = position - offsets[i];
+            }
+
+            channel.position(0);
+            buffer.put(BinaryDataFrameFormat.MAGIC);
+            buffer.putInt(count);
+            for (int i = 0; i < count; i++) {
+                Ensure(1 + 4 + 8 + 8 + 4);
+                buffer.put(types[i]);
+                buffer.putInt(rows[i]);
+                buffer.putLong(offsets[i]);
+                buffer.putLong(lengths[i]);
+                if (headers[i] == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(headers[i].length);
+                    PutBytes(headers[i]);
+                }
+            }
+            Flush();
+        } catch (IOException ex) {
+            InputOutputError error = new InputOutputError();
+            if (ex.getMessage() != null) {
+                error.SetErrorMessage(ex.getMessage());
+            }
+            throw error;
+        } finally {
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    /* writes the validity bitmap and values of a column, returning its type tag */
+    private byte Write(DataFrameColumn_ column, int rows) throws IOException {
+        if (column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.NumberColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+            PutBitmap(plugin.getUndefined(), rows, true);
+            double[] values = plugin.getValues();
+            for (int row = 0; row < rows; row++) {
+                Ensure(8);
+                buffer.putDouble(values[row]);
+            }
+            return BinaryDataFrameFormat.NUMBER;
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.IntegerColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+            PutBitmap(plugin.getUndefined(), rows, true);
+            int[] values = plugin.getValues();
+            for (int row = 0; row < rows; row++) {
+                Ensure(4);
+                buffer.putInt(values[row]);
+            }
+            return BinaryDataFrameFormat.INTEGER;
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.BooleanColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) column).plugin_;
+            PutBitmap(plugin.getUndefined(), rows, true);
+            PutBitmap(plugin.getValues(), rows, false);
+            return BinaryDataFrameFormat.BOOLEAN;
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.DateTimeColumn) {
+            quorum.Libraries.Compute.Statistics.Columns.DateTimeColumn dates =
+                (quorum.Libraries.Compute.Statistics.Columns.DateTimeColumn) column;
+            BitSet undefined = new BitSet(rows);
+            double[] values = new double[rows];
+            for (int row = 0; row < rows; row++) {
+                quorum.Libraries.System.DateTime_ value = dates.Get(row);
+                if (value == null) {
+                    undefined.set(row);
+                } else {
+                    values[row] = value.GetEpochTime();
+                }
+            }
+            PutBitmap(undefined, rows, true);
+            for (int row = 0; row < rows; row++) {
+                Ensure(8);
+                buffer.putDouble(values[row]);
+            }
+            return BinaryDataFrameFormat.DATE_TIME;
+        }
+
+        //everything else is written as text, with each distinct value stored once
+        BitSet undefined = new BitSet(rows);
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] indices = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            String value = column.IsUndefined(row) ? null : column.GetAsText(row);
+            if (value == null) {
+                undefined.set(row);
+                indices[row] = -1;
+                continue;
+            }
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(value, index);
+                entries.add(value);
+            }
+            indices[row] = index;
+        }
+
+        PutBitmap(undefined, rows, true);
+        for (int row = 0; row < rows; row++) {
+            Ensure(4);
+            buffer.putInt(indices[row]);
+        }
+        Ensure(4);
+        buffer.putInt(entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            Ensure(4);
+            buffer.putInt(bytes.length);
+            PutBytes(bytes);
+        }
+        if (column instanceof quorum.Libraries.Compute.Statistics.Columns.BigIntegerColumn) {
+            return BinaryDataFrameFormat.BIG_INTEGER;
+        }
+        return BinaryDataFrameFormat.TEXT;
+    }
+
+    /*
+     * Writes the first rows bits of a bitmap, flipped when the bitmap holds
+     * undefined rows, so a set bit in the file is always a defined row.
+     */
+    private void PutBitmap(BitSet bits, int rows, boolean flip) throws IOException {
+        long[] words = bits.get(0, rows).toLongArray();
+        int count = BinaryDataFrameFormat.Words(rows);
+        for (int i = 0; i < count; i++) {
+            long word = i < words.length ? words[i] : 0L;
+            if (flip) {
+                word = ~word;
+                int remaining = rows - (i << 6);
+                if (remaining < 64) {
+                    word &= (1L << remaining) - 1;
+                }
+            }
+            Ensure(8);
+            buffer.putLong(word);
+        }
+    }
+
+    private void PutBytes(byte[] bytes) throws IOException {
+        int written = 0;
+        while (written < bytes.length) {
+            Ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, length);
+            written += length;
+        }
+    }
+
+    private void Ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            Flush();
+        }
+    }
+
+    private void Flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
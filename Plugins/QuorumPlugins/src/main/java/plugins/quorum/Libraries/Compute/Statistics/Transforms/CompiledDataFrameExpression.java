@@ -0,0 +1,365 @@
+package plugins.quorum.Libraries.Compute.Statistics.Transforms;
+
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import plugins.quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+import quorum.Libraries.Compute.Statistics.DataFrame_;
+import quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter_;
+
+/**
+ * The native side of Libraries.Compute.Statistics.Transforms.CompiledDataFrameExpression.
+ *
+ * The Quorum side writes the expression as a static Evaluate method, with one
+ * parameter per column it uses. This class finishes that class with a
+ * constructor and a bridge that reads the parameters for a row out of the
+ * columns, loads it and keeps it, keyed by the expression and the columns it
+ * was written against.
+ *
+ * @author Andreas Stefik
+ */
+public class CompiledDataFrameExpression implements Opcodes {
+    public java.lang.Object me_ = null;
+
+    private static final String KERNEL = Type.getInternalName(DataFrameExpressionKernel.class);
+    private static final String PREFIX = "plugins/quorum/Libraries/Compute/Statistics/Transforms/DataFrameExpression";
+    private static final String EVALUATE = "Evaluate";
+    private static final String EVALUATE_ROW = "EvaluateRow";
+    private static final int CACHE_SIZE = 256;
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final Map<String, Class<?>> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<String, Class<?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Class<?>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    private String className = null;
+    private String superName = null;
+    private DataFrameExpressionKernel kernel = null;
+    private Class<?>[] parameters = null;
+    private Class<?> result = null;
+    private int bound = 0;
+    private final BitSet missing = new BitSet();
+
+    public boolean IsSupported() {
+        return true;
+    }
+
+    /*
+     * Looks for a class written earlier under the same key, returning false
+     * if the expression has to be written first.
+     */
+    public boolean Load(String key) {
+        Class<?> loaded = CACHE.get(key);
+        if (loaded == null) {
+            return false;
+        }
+        Instantiate(loaded);
+        return true;
+    }
+
+    /*
+     * Starts a class for an expression with the given Evaluate description.
+     * It extends the kernel for the type the expression returns.
+     */
+    public JavaBytecodeClassWriter_ CreateClassWriter(String description) {
+        quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter writer =
+            new quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter();
+        className = PREFIX + COUNTER.incrementAndGet();
+        superName = Type.getInternalName(KernelFor(Type.getReturnType(description)));
+        writer.plugin_.getClassWriter().visit(V1_8, ACC_PUBLIC + ACC_FINAL + ACC_SUPER,
+            className, null, superName, null);
+        return writer;
+    }
+
+    /*
+     * Finishes the class the Quorum side wrote its Evaluate method into,
+     * loads it and caches it under the key.
+     */
+    public void Define(String key, JavaBytecodeClassWriter_ writer, String description) {
+        JavaBytecodeClassWriter plugin = ((quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter) writer).plugin_;
+        ClassWriter classWriter = plugin.getClassWriter();
+        WriteConstructor(classWriter);
+        WriteBridge(classWriter, description);
+        classWriter.visitEnd();
+
+        byte[] bytes = plugin.toByteArray();
+        ExpressionLoader loader = new ExpressionLoader(CompiledDataFrameExpression.class.getClassLoader());
+        Class<?> defined = loader.Define(className.replace('/', '.'), bytes);
+        CACHE.put(key, defined);
+        Instantiate(defined);
+    }
+
+    /*
+     * Binds the next parameter of the expression to a column. Primitive
+     * columns are read in place; anything else is copied once into an array.
+     */
+    public void Bind(DataFrameColumn_ column, int rows) {
+        Class<?> type = parameters[bound];
+        int size = Math.min(column.GetSize(), rows);
+        Object values;
+        if (type == double.class && column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.NumberColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+            values = plugin.getValues();
+            missing.or(plugin.getUndefined());
+        } else if (type == int.class && column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.IntegerColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+            values = plugin.getValues();
+            missing.or(plugin.getUndefined());
+        } else if (type == boolean.class && column instanceof quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.BooleanColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) column).plugin_;
+            values = plugin.getValues();
+            missing.or(plugin.getUndefined());
+        } else {
+            values = Copy(column, type, size);
+        }
+
+        //rows past the end of a shorter column have no value to use
+        if (size < rows) {
+            missing.set(size, rows);
+        }
+        kernel.columns[bound] = values;
+        bound++;
+    }
+
+    /*
+     * Adds the value of the expression for every row to the end of a column,
+     * or undefined where a value it uses is missing.
+     */
+    public void Fill(DataFrameColumn_ column, int rows) {
+        if (result == double.class && column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.NumberColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+            DataFrameExpressionKernel.NumberKernel numbers = (DataFrameExpressionKernel.NumberKernel) kernel;
+            for (int row = 0; row < rows; row++) {
+                if (missing.get(row)) {
+                    plugin.AddUndefinedNative();
+                } else {
+                    plugin.AddNative(numbers.EvaluateRow(row));
+                }
+            }
+        } else if (result == int.class && column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.IntegerColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+            DataFrameExpressionKernel.IntegerKernel integers = (DataFrameExpressionKernel.IntegerKernel) kernel;
+            for (int row = 0; row < rows; row++) {
+                if (missing.get(row)) {
+                    plugin.AddUndefinedNative();
+                } else {
+                    plugin.AddNative(integers.EvaluateRow(row));
+                }
+            }
+        } else if (result == boolean.class && column instanceof quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.BooleanColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) column).plugin_;
+            DataFrameExpressionKernel.BooleanKernel booleans = (DataFrameExpressionKernel.BooleanKernel) kernel;
+            for (int row = 0; row < rows; row++) {
+                if (missing.get(row)) {
+                    plugin.AddUndefinedNative();
+                } else {
+                    plugin.AddNative(booleans.EvaluateRow(row));
+                }
+            }
+        } else {
+            for (int row = 0; row < rows; row++) {
+                column.Add(missing.get(row) ? null : EvaluateAsText(row));
+            }
+        }
+    }
+
+    /*
+     * Keeps only the rows where the expression is true, in order, in every
+     * column of the frame.
+     */
+    public void Filter(DataFrame_ frame, int rows) {
+        BitSet keep = new BitSet(rows);
+        DataFrameExpressionKernel.BooleanKernel condition = (DataFrameExpressionKernel.BooleanKernel) kernel;
+        for (int row = missing.nextClearBit(0); row < rows; row = missing.nextClearBit(row + 1)) {
+            if (condition.EvaluateRow(row)) {
+                keep.set(row);
+            }
+        }
+
+        for (int i = 0; i < frame.GetSize(); i++) {
+            DataFrameColumn_ column = frame.GetColumn(i);
+            int size = column.GetSize();
+            int next = 0;
+            for (int row = keep.nextSetBit(0); row >= 0 && row < size; row = keep.nextSetBit(row + 1)) {
+                if (row != next) {
+                    column.Move(row, next);
+                }
+                next++;
+            }
+            column.SetSize(next);
+        }
+    }
+
+    private String EvaluateAsText(int row) {
+        if (result == double.class) {
+            return Double.toString(((DataFrameExpressionKernel.NumberKernel) kernel).EvaluateRow(row));
+        } else if (result == int.class) {
+            return Integer.toString(((DataFrameExpressionKernel.IntegerKernel) kernel).EvaluateRow(row));
+        } else if (result == boolean.class) {
+            return Boolean.toString(((DataFrameExpressionKernel.BooleanKernel) kernel).EvaluateRow(row));
+        }
+        return ((DataFrameExpressionKernel.TextKernel) kernel).EvaluateRow(row);
+    }
+
+    private Object Copy(DataFrameColumn_ column, Class<?> type, int size) {
+        if (type == double.class) {
+            double[] values = new double[size];
+            for (int row = 0; row < size; row++) {
+                if (column.IsUndefined(row)) {
+                    missing.set(row);
+                } else {
+                    values[row] = column.GetAsNumber(row);
+                }
+            }
+            return values;
+        } else if (type == int.class) {
+            int[] values = new int[size];
+            for (int row = 0; row < size; row++) {
+                if (column.IsUndefined(row)) {
+                    missing.set(row);
+                } else {
+                    values[row] = column.GetAsInteger(row);
+                }
+            }
+            return values;
+        } else if (type == boolean.class) {
+            BitSet values = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (column.IsUndefined(row)) {
+                    missing.set(row);
+                } else {
+                    values.set(row, column.GetAsBoolean(row));
+                }
+            }
+            return values;
+        }
+
+        String[] values = new String[size];
+        for (int row = 0; row < size; row++) {
+            String value = column.IsUndefined(row) ? null : column.GetAsText(row);
+            if (value == null) {
+                missing.set(row);
+            } else {
+                values[row] = value;
+            }
+        }
+        return values;
+    }
+
+    private void Instantiate(Class<?> type) {
+        try {
+            kernel = (DataFrameExpressionKernel) type.newInstance();
+        } catch (InstantiationException | IllegalAccessException exception) {
+            quorum.Libraries.Language.Errors.Error error = new quorum.Libraries.Language.Errors.Error();
+            error.SetErrorMessage("Could not load the compiled DataFrame expression: " + exception.getMessage());
+            throw error;
+        }
+
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.getName().equals(EVALUATE)) {
+                parameters = method.getParameterTypes();
+                result = method.getReturnType();
+            }
+        }
+        kernel.columns = new Object[parameters.length];
+        bound = 0;
+        missing.clear();
+    }
+
+    private void WriteConstructor(ClassWriter classWriter) {
+        MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        method.visitCode();
+        method.visitVarInsn(ALOAD, 0);
+        method.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private static Class<?> KernelFor(Type returns) {
+        switch (returns.getSort()) {
+            case Type.BOOLEAN:
+                return DataFrameExpressionKernel.BooleanKernel.class;
+            case Type.INT:
+                return DataFrameExpressionKernel.IntegerKernel.class;
+            case Type.DOUBLE:
+                return DataFrameExpressionKernel.NumberKernel.class;
+            default:
+                return DataFrameExpressionKernel.TextKernel.class;
+        }
+    }
+
+    /*
+     * Writes EvaluateRow for the kernel the class extends. It loads the value
+     * of each column at the row and passes them all to Evaluate.
+     */
+    private void WriteBridge(ClassWriter classWriter, String description) {
+        Type[] arguments = Type.getArgumentTypes(description);
+        Type returns = Type.getReturnType(description);
+        MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC, EVALUATE_ROW, "(I)" + returns.getDescriptor(), null, null);
+        method.visitCode();
+        for (int i = 0; i < arguments.length; i++) {
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, KERNEL, "columns", "[Ljava/lang/Object;");
+            method.visitLdcInsn(i);
+            method.visitInsn(AALOAD);
+            switch (arguments[i].getSort()) {
+                case Type.DOUBLE:
+                    method.visitTypeInsn(CHECKCAST, "[D");
+                    method.visitVarInsn(ILOAD, 1);
+                    method.visitInsn(DALOAD);
+                    break;
+                case Type.INT:
+                    method.visitTypeInsn(CHECKCAST, "[I");
+                    method.visitVarInsn(ILOAD, 1);
+                    method.visitInsn(IALOAD);
+                    break;
+                case Type.BOOLEAN:
+                    method.visitTypeInsn(CHECKCAST, "java/util/BitSet");
+                    method.visitVarInsn(ILOAD, 1);
+                    method.visitMethodInsn(INVOKEVIRTUAL, "java/util/BitSet", "get", "(I)Z", false);
+                    break;
+                default:
+                    method.visitTypeInsn(CHECKCAST, "[Ljava/lang/String;");
+                    method.visitVarInsn(ILOAD, 1);
+                    method.visitInsn(AALOAD);
+            }
+        }
+        method.visitMethodInsn(INVOKESTATIC, className, EVALUATE, description, false);
+        method.visitInsn(returns.getOpcode(IRETURN));
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    /*
+     * Each expression gets a loader of its own, so that a class can be
+     * collected once it falls out of the cache.
+     */
+    private static final class ExpressionLoader extends ClassLoader {
+        ExpressionLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> Define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package plugins.quorum.Libraries.Compute.Statistics.Transforms;
+
+/**
+ * The parent of the classes that CompiledDataFrameExpression writes. Each one
+ * extends the kernel for the type its expression returns, and implements
+ * EvaluateRow by reading the values for a row straight out of the columns it
+ * was bound to.
+ *
+ * @author Andreas Stefik
+ */
+public abstract class DataFrameExpressionKernel {
+    /*
+     * One entry per column the expression uses, in parameter order: a
+     * double[], an int[], a BitSet of booleans or a String[].
+     */
+    public Object[] columns;
+
+    public abstract static class BooleanKernel extends DataFrameExpressionKernel {
+        public abstract boolean EvaluateRow(int row);
+    }
+
+    public abstract static class IntegerKernel extends DataFrameExpressionKernel {
+        public abstract int EvaluateRow(int row);
+    }
+
+    public abstract static class NumberKernel extends DataFrameExpressionKernel {
+        public abstract double EvaluateRow(int row);
+    }
+
+    public abstract static class TextKernel extends DataFrameExpressionKernel {
+        public abstract String EvaluateRow(int row);
+    }
+}
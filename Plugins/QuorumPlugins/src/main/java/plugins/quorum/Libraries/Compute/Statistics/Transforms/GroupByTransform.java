@@ -0,0 +1,466 @@
+package plugins.quorum.Libraries.Compute.Statistics.Transforms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+
+/**
+ * The native side of Libraries.Compute.Statistics.Transforms.GroupByTransform.
+ *
+ * Each key column is first encoded into an int per row, numbering its values
+ * in the order they first appear. Number and integer columns are encoded
+ * through an open addressing table over their primitive values, boolean
+ * columns need no table at all, and only other columns are compared as text.
+ * The codes of several key columns are then folded together one column at a
+ * time, again through a primitive table, giving every row the number of its
+ * group. Groups are numbered in the order they first appear.
+ *
+ * Sums, means, minimums and maximums of large number and integer columns are
+ * calculated in chunks on the common fork/join pool, each into its own partial
+ * result per group, which are then merged.
+ *
+ * @author Andreas Stefik
+ */
+public class GroupByTransform {
+    public java.lang.Object me_ = null;
+
+    /* these match the constants in GroupByTransform.quorum */
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MEAN = 2;
+    private static final int MINIMUM = 3;
+    private static final int MAXIMUM = 4;
+    private static final int DISTINCT = 5;
+
+    /* chunks smaller than this are not worth handing to another thread */
+    private static final int CHUNK = 1 << 16;
+
+    private final List<DataFrameColumn_> keys = new ArrayList<>();
+    private int rows = 0;
+    private int[] groups = new int[0];
+    private int[] firsts = new int[0];
+
+    public void AddKeyNative(DataFrameColumn_ column) {
+        keys.add(column);
+    }
+
+    /*
+     * Works out the group of every row and returns the number of groups.
+     * Rows past the end of a shorter key column count as undefined there.
+     */
+    public int GroupNative(int rows) {
+        this.rows = rows;
+        if (keys.isEmpty()) {
+            groups = new int[rows];
+            firsts = rows > 0 ? new int[]{0} : new int[0];
+            return firsts.length;
+        }
+
+        //each key column is encoded on its own, so they are done at the same time
+        Encoding[] encodings = new Encoding[keys.size()];
+        IntStream.range(0, keys.size()).parallel().forEach(i -> encodings[i] = Encode(keys.get(i), rows));
+
+        int[] ids = encodings[0].codes;
+        int count = encodings[0].size;
+        for (int k = 1; k < encodings.length; k++) {
+            int[] codes = encodings[k].codes;
+            int[] next = new int[rows];
+            LongIntTable table = new LongIntTable();
+            count = 0;
+            for (int row = 0; row < rows; row++) {
+                int id = table.GetOrAdd(((long) ids[row] << 32) | codes[row], count);
+                if (id == count) {
+                    count++;
+                }
+                next[row] = id;
+            }
+            ids = next;
+        }
+
+        groups = ids;
+        firsts = new int[count];
+        Arrays.fill(firsts, -1);
+        for (int row = 0; row < rows; row++) {
+            if (firsts[ids[row]] < 0) {
+                firsts[ids[row]] = row;
+            }
+        }
+        return count;
+    }
+
+    /* the first row of a group, which holds the group's key values */
+    public int GetFirstRow(int group) {
+        return firsts[group];
+    }
+
+    /*
+     * Calculates one value per group from a column, and replaces the rows of
+     * the result with them. Counts fill an IntegerColumn and every other
+     * aggregate fills a NumberColumn. A count with no column counts rows.
+     */
+    public void AggregateNative(DataFrameColumn_ column, int type, DataFrameColumn_ result) {
+        int size = firsts.length;
+        if (type == COUNT || type == DISTINCT) {
+            int[] counts = new int[size];
+            if (column == null) {
+                for (int row = 0; row < rows; row++) {
+                    counts[groups[row]]++;
+                }
+            } else if (type == COUNT) {
+                int columnSize = column.GetSize();
+                for (int row = 0; row < rows; row++) {
+                    if (row < columnSize && !column.IsUndefined(row)) {
+                        counts[groups[row]]++;
+                    }
+                }
+            } else {
+                Encoding encoding = Encode(column, rows);
+                LongIntTable seen = new LongIntTable();
+                for (int row = 0; row < rows; row++) {
+                    int code = encoding.codes[row];
+                    if (code != encoding.undefined && seen.Add(((long) groups[row] << 32) | code)) {
+                        counts[groups[row]]++;
+                    }
+                }
+            }
+            ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) result).plugin_.setValues(counts, new BitSet(), size);
+            return;
+        }
+
+        Partial partial = Calculate(column);
+        double[] values = new double[size];
+        BitSet undefined = new BitSet(size);
+        for (int group = 0; group < size; group++) {
+            if (partial.counts[group] == 0) {
+                undefined.set(group);
+            } else if (type == SUM) {
+                values[group] = partial.sums[group];
+            } else if (type == MEAN) {
+                values[group] = partial.sums[group] / partial.counts[group];
+            } else if (type == MINIMUM) {
+                values[group] = partial.minimums[group];
+            } else if (type == MAXIMUM) {
+                values[group] = partial.maximums[group];
+            }
+        }
+        ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) result).plugin_.setValues(values, undefined, size);
+    }
+
+    public void EmptyNative() {
+        keys.clear();
+        rows = 0;
+        groups = new int[0];
+        firsts = new int[0];
+    }
+
+    private Partial Calculate(DataFrameColumn_ column) {
+        double[] numbers = null;
+        int[] integers = null;
+        BitSet undefined;
+        int columnSize;
+        if (column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.NumberColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+            numbers = plugin.getValues();
+            undefined = plugin.getUndefined();
+            columnSize = plugin.GetSizeNative();
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.IntegerColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+            integers = plugin.getValues();
+            undefined = plugin.getUndefined();
+            columnSize = plugin.GetSizeNative();
+        } else {
+            columnSize = Math.min(rows, column.GetSize());
+            numbers = new double[columnSize];
+            undefined = new BitSet(columnSize);
+            for (int row = 0; row < columnSize; row++) {
+                if (column.IsUndefined(row)) {
+                    undefined.set(row);
+                } else {
+                    numbers[row] = column.GetAsNumber(row);
+                }
+            }
+        }
+
+        Chunk chunk = new Chunk(numbers, integers, undefined, groups, firsts.length, 0, Math.min(rows, columnSize));
+        //every chunk keeps a partial result per group, so many groups are done in one pass
+        if (chunk.end - chunk.start <= CHUNK || firsts.length > CHUNK / 4) {
+            return chunk.Aggregate();
+        }
+        return ForkJoinPool.commonPool().invoke(chunk);
+    }
+
+    private static Encoding Encode(DataFrameColumn_ column, int rows) {
+        Encoding encoding = new Encoding(rows);
+        int[] codes = encoding.codes;
+        if (column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.NumberColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_;
+            double[] values = plugin.getValues();
+            BitSet undefined = plugin.getUndefined();
+            int size = plugin.GetSizeNative();
+            LongIntTable table = new LongIntTable();
+            for (int row = 0; row < rows; row++) {
+                if (row >= size || undefined.get(row)) {
+                    codes[row] = encoding.Undefined();
+                } else {
+                    //adding zero turns -0.0 into 0.0, so they group together
+                    codes[row] = encoding.Code(table.GetOrAdd(Double.doubleToLongBits(values[row] + 0.0), encoding.size));
+                }
+            }
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.IntegerColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_;
+            int[] values = plugin.getValues();
+            BitSet undefined = plugin.getUndefined();
+            int size = plugin.GetSizeNative();
+            LongIntTable table = new LongIntTable();
+            for (int row = 0; row < rows; row++) {
+                if (row >= size || undefined.get(row)) {
+                    codes[row] = encoding.Undefined();
+                } else {
+                    codes[row] = encoding.Code(table.GetOrAdd(values[row], encoding.size));
+                }
+            }
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) {
+            plugins.quorum.Libraries.Compute.Statistics.Columns.BooleanColumn plugin =
+                ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) column).plugin_;
+            BitSet values = plugin.getValues();
+            BitSet undefined = plugin.getUndefined();
+            int size = plugin.GetSizeNative();
+            int[] seen = {-1, -1};
+            for (int row = 0; row < rows; row++) {
+                if (row >= size || undefined.get(row)) {
+                    codes[row] = encoding.Undefined();
+                } else {
+                    int value = values.get(row) ? 1 : 0;
+                    if (seen[value] < 0) {
+                        seen[value] = encoding.size;
+                    }
+                    codes[row] = encoding.Code(seen[value]);
+                }
+            }
+        } else {
+            int size = column.GetSize();
+            Map<String, Integer> table = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                String value = row < size && !column.IsUndefined(row) ? column.GetAsText(row) : null;
+                if (value == null) {
+                    codes[row] = encoding.Undefined();
+                } else {
+                    Integer code = table.get(value);
+                    if (code == null) {
+                        code = encoding.size;
+                        table.put(value, code);
+                    }
+                    codes[row] = encoding.Code(code);
+                }
+            }
+        }
+        return encoding;
+    }
+
+    /*
+     * The values of a column numbered in the order they first appear, with
+     * undefined numbered like any other value.
+     */
+    private static final class Encoding {
+        final int[] codes;
+        int size = 0;
+        int undefined = -1;
+
+        Encoding(int rows) {
+            codes = new int[rows];
+        }
+
+        int Undefined() {
+            if (undefined < 0) {
+                undefined = size;
+                size++;
+            }
+            return undefined;
+        }
+
+        /* counts a code the table just handed out for the first time */
+        int Code(int code) {
+            if (code == size) {
+                size++;
+            }
+            return code;
+        }
+    }
+
+    /*
+     * An open addressing table from long keys to non-negative ints, with
+     * linear probing. It is kept at most half full.
+     */
+    private static final class LongIntTable {
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int size = 0;
+
+        LongIntTable() {
+            Arrays.fill(values, -1);
+        }
+
+        /*
+         * Returns the value for the key. If the key is new, it is added with
+         * the value given, and that value is returned.
+         */
+        int GetOrAdd(long key, int value) {
+            int mask = keys.length - 1;
+            int slot = Mix(key) & mask;
+            while (values[slot] >= 0) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            if (size * 2 > keys.length) {
+                Grow();
+            }
+            return value;
+        }
+
+        /* adds a key with no particular value, returning true if it was new */
+        boolean Add(long key) {
+            int before = size;
+            GetOrAdd(key, 0);
+            return size > before;
+        }
+
+        private void Grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            Arrays.fill(values, -1);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] >= 0) {
+                    int slot = Mix(oldKeys[i]) & mask;
+                    while (values[slot] >= 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int Mix(long key) {
+            key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+            key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return (int) (key ^ (key >>> 33));
+        }
+    }
+
+    /* the count, sum, minimum and maximum of the values in each group */
+    private static final class Partial {
+        final long[] counts;
+        final double[] sums;
+        final double[] minimums;
+        final double[] maximums;
+
+        Partial(int size) {
+            counts = new long[size];
+            sums = new double[size];
+            minimums = new double[size];
+            maximums = new double[size];
+        }
+
+        void Add(int group, double value) {
+            if (counts[group] == 0 || value < minimums[group]) {
+                minimums[group] = value;
+            }
+            if (counts[group] == 0 || value > maximums[group]) {
+                maximums[group] = value;
+            }
+            counts[group]++;
+            sums[group] += value;
+        }
+
+        void Merge(Partial other) {
+            for (int group = 0; group < counts.length; group++) {
+                if (other.counts[group] == 0) {
+                    continue;
+                }
+                if (counts[group] == 0 || other.minimums[group] < minimums[group]) {
+                    minimums[group] = other.minimums[group];
+                }
+                if (counts[group] == 0 || other.maximums[group] > maximums[group]) {
+                    maximums[group] = other.maximums[group];
+                }
+                counts[group] += other.counts[group];
+                sums[group] += other.sums[group];
+            }
+        }
+    }
+
+    /*
+     * A range of rows in a number or integer column. Large ranges split in
+     * half and merge the partial results of each half.
+     */
+    private static final class Chunk extends RecursiveTask<Partial> {
+        private final double[] numbers;
+        private final int[] integers;
+        private final BitSet undefined;
+        private final int[] groups;
+        private final int size;
+        private final int start;
+        private final int end;
+
+        Chunk(double[] numbers, int[] integers, BitSet undefined, int[] groups, int size, int start, int end) {
+            this.numbers = numbers;
+            this.integers = integers;
+            this.undefined = undefined;
+            this.groups = groups;
+            this.size = size;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (end - start <= CHUNK) {
+                return Aggregate();
+            }
+            int middle = (start + end) >>> 1;
+            Chunk left = new Chunk(numbers, integers, undefined, groups, size, start, middle);
+            Chunk right = new Chunk(numbers, integers, undefined, groups, size, middle, end);
+            left.fork();
+            Partial result = right.compute();
+            Partial first = left.join();
+            first.Merge(result);
+            return first;
+        }
+
+        Partial Aggregate() {
+            Partial result = new Partial(size);
+            int row = undefined.nextClearBit(start);
+            if (numbers != null) {
+                while (row < end) {
+                    result.Add(groups[row], numbers[row]);
+                    row = undefined.nextClearBit(row + 1);
+                }
+            } else {
+                while (row < end) {
+                    result.Add(groups[row], integers[row]);
+                    row = undefined.nextClearBit(row + 1);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,177 +1,593 @@
 package plugins.quorum.Libraries.Containers;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import quorum.Libraries.Containers.Support.Comparison_;
 import quorum.Libraries.Language.Object_;
+import quorum.Libraries.Language.Types.Boolean_;
+import quorum.Libraries.Language.Types.Integer_;
+import quorum.Libraries.Language.Types.Number_;
 
 /**
  * An implementation of the native plugin for Libraries.Containers.Array.
- * 
+ *
+ * An array declared with a primitive type, like Array&lt;integer&gt;, is told
+ * so by the compiler when it is created and keeps its items unboxed, in an
+ * int[], double[], or boolean[]. Compiled calls to Get on these arrays read
+ * the item through GetInteger, GetNumber, or GetBoolean, which never box it.
+ * Other actions, like iterators, sorting with a Comparison, or Get through a
+ * less specific type, still box items as they are handed back to Quorum. If
+ * anything else is ever stored in one of these arrays, it quietly goes back
+ * to storing objects.
+ *
+ * Storage follows the array object, so one passed as a parameter, held in a
+ * field, or returned from an action keeps it. Only the place an array is
+ * created decides: an array created where its type is itself generic, like
+ * Array&lt;Type&gt; inside Copy or another container, or created by a
+ * plugin, stores objects.
+ *
  * @author Andreas Stefik
  */
 public class Array {
     public java.lang.Object me_ = null;
+    public static final int OBJECT_STORAGE = 0;
+    public static final int INTEGER_STORAGE = 1;
+    public static final int NUMBER_STORAGE = 2;
+    public static final int BOOLEAN_STORAGE = 3;
     private static final int DEFAULT_CAPACITY = 10;
     private static final int DEFAULT_RESIZE = 2;
+    //below this size, sorting on several processors is not worth it
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
     protected boolean resizable = true;
     Object_[] array = null;
+    int[] integers = null;
+    double[] numbers = null;
+    boolean[] booleans = null;
+    int storage = OBJECT_STORAGE;
+    //locations in primitive storage that are undefined, created only when needed
+    private BitSet undefined = null;
     private int size = 0;
-    
+
     public Array() {
         array = new Object_[DEFAULT_CAPACITY];
     }
-    
+
     public Array(int size) {
         array = new Object_[size];
     }
-    
+
+    /**
+     * Called by compiled code just after an array with a primitive type is
+     * created, for example Array&lt;number&gt;. Arrays that already hold
+     * items are left alone.
+     *
+     * @param quorumArray the Libraries.Containers.Array that was created
+     * @param storage one of the storage constants
+     */
+    public static void SetStorage(java.lang.Object quorumArray, int storage) {
+        Array plugin = ((quorum.Libraries.Containers.Array) quorumArray).plugin_;
+        plugin.SetStorage(storage);
+    }
+
+    public void SetStorage(int storage) {
+        if(size != 0 || storage == this.storage) {
+            return;
+        }
+        int capacity = GetMaxSize();
+        array = null;
+        integers = null;
+        numbers = null;
+        booleans = null;
+        undefined = null;
+        this.storage = storage;
+        if(storage == INTEGER_STORAGE) {
+            integers = new int[capacity];
+        } else if(storage == NUMBER_STORAGE) {
+            numbers = new double[capacity];
+        } else if(storage == BOOLEAN_STORAGE) {
+            booleans = new boolean[capacity];
+        } else {
+            this.storage = OBJECT_STORAGE;
+            array = new Object_[capacity];
+        }
+    }
+
+    public int GetStorage() {
+        return storage;
+    }
+
+    /**
+     * Called by compiled code in place of Get on an Array&lt;integer&gt;, so
+     * an item in integer storage is returned without being boxed. Anything
+     * else, like a subclass that overrides Get, an undefined item, or a
+     * location outside the array, goes through Get as usual.
+     *
+     * @param quorumArray the Libraries.Containers.Array to read from
+     * @param location the location of the item
+     * @return the item
+     */
+    public static int GetInteger(java.lang.Object quorumArray, int location) {
+        Array plugin = GetTypedPlugin(quorumArray, INTEGER_STORAGE, location);
+        if(plugin != null) {
+            return plugin.integers[location];
+        }
+        return plugins.quorum.Libraries.Language.Types.Integer.ConvertObjectToInteger(
+            ((quorum.Libraries.Containers.Array_) quorumArray).Get(location));
+    }
+
+    /**
+     * Called by compiled code in place of Get on an Array&lt;number&gt;.
+     *
+     * @see #GetInteger(java.lang.Object, int)
+     */
+    public static double GetNumber(java.lang.Object quorumArray, int location) {
+        Array plugin = GetTypedPlugin(quorumArray, NUMBER_STORAGE, location);
+        if(plugin != null) {
+            return plugin.numbers[location];
+        }
+        return plugins.quorum.Libraries.Language.Types.Number.ConvertObjectToNumber(
+            ((quorum.Libraries.Containers.Array_) quorumArray).Get(location));
+    }
+
+    /**
+     * Called by compiled code in place of Get on an Array&lt;boolean&gt;.
+     *
+     * @see #GetInteger(java.lang.Object, int)
+     */
+    public static boolean GetBoolean(java.lang.Object quorumArray, int location) {
+        Array plugin = GetTypedPlugin(quorumArray, BOOLEAN_STORAGE, location);
+        if(plugin != null) {
+            return plugin.booleans[location];
+        }
+        return plugins.quorum.Libraries.Language.Types.Boolean.ConvertObjectToBoolean(
+            ((quorum.Libraries.Containers.Array_) quorumArray).Get(location));
+    }
+
+    /*
+     * Returns the plugin of an array if the item at a location can be read
+     * straight from the given storage, or null if it has to go through Get.
+     */
+    private static Array GetTypedPlugin(java.lang.Object quorumArray, int storage, int location) {
+        if(quorumArray == null || quorumArray.getClass() != quorum.Libraries.Containers.Array.class) {
+            return null;
+        }
+        Array plugin = ((quorum.Libraries.Containers.Array) quorumArray).plugin_;
+        if(plugin.storage != storage || location < 0 || location >= plugin.size
+                || (plugin.undefined != null && plugin.undefined.get(location))) {
+            return null;
+        }
+        return plugin;
+    }
+
     public void SetNative(int location, Object_ value) {
-        array[location] = value;
+        if(storage == OBJECT_STORAGE) {
+            array[location] = value;
+        } else if(value == null) {
+            if(location >= size) {
+                throw new ArrayIndexOutOfBoundsException(location);
+            }
+            MarkUndefined(location, location + 1);
+        } else if(!Accepts(value)) {
+            ConvertToObjects();
+            array[location] = value;
+        } else {
+            Store(location, value);
+            if(undefined != null) {
+                undefined.clear(location);
+            }
+        }
     }
-    
+
     public Object_ GetNative(int location) {
-        return array[location];
+        if(storage == OBJECT_STORAGE) {
+            return array[location];
+        }
+        if(location >= size) {
+            throw new ArrayIndexOutOfBoundsException(location);
+        }
+        if(undefined != null && undefined.get(location)) {
+            return null;
+        }
+        return Load(location);
     }
-    
+
     public void SetSizeNative(int size) {
-        if(array.length > size) {
-            Object_[] newArray = new Object_[size];
-            for(int i = 0; i < size; i++) {
-                newArray[i] = array[i];
-            }
-            array = newArray;
-        } else if(array.length < size) {
-            Object_[] newArray = new Object_[size];
-            for(int i = 0; i < array.length; i++) {
-                newArray[i] = array[i];
+        int capacity = GetMaxSize();
+        if(capacity != size) {
+            Reallocate(size, Math.min(capacity, size));
+        }
+        if(storage != OBJECT_STORAGE) {
+            if(size > this.size) {
+                MarkUndefined(this.size, size);
+            } else if(undefined != null) {
+                undefined.clear(size, Math.max(size, this.size));
             }
-            
-            array = newArray;
         }
         this.size = size;
     }
-    
+
     public void SetSizeNoFillNative(int size) {
-        array = new Object_[size];
+        undefined = null;
+        Reallocate(size, 0);
         this.size = size;
+        if(storage != OBJECT_STORAGE) {
+            MarkUndefined(0, size);
+        }
     }
-    
+
     public void AddNative(int location, Object_ value) {
+        if(storage != OBJECT_STORAGE && value != null && !Accepts(value)) {
+            ConvertToObjects();
+        }
+        int capacity = GetMaxSize();
+        java.lang.Object items = GetStore();
         //do a custom resize for speed.
-        if(size + 1 >= array.length && this.resizable) {
-            Object_[] newArray = new Object_[array.length * DEFAULT_RESIZE];
-            //copy up to the new location
-            for(int i = 0; i < location; i++) {
-                newArray[i] = array[i];
-            }
-            newArray[location] = value;
-            for(int i = location; i < size; i++) {
-                newArray[i+1] = array[i];
-            }
-            array = newArray;
-        } else if(size + 1 >= array.length && !this.resizable) {
+        if(size + 1 >= capacity && this.resizable) {
+            java.lang.Object newItems = Allocate(capacity * DEFAULT_RESIZE);
+            //copy up to the new location, and everything after it one further along
+            System.arraycopy(items, 0, newItems, 0, location);
+            System.arraycopy(items, location, newItems, location + 1, size - location);
+            SetStore(newItems);
+        } else if(size + 1 >= capacity && !this.resizable) {
             throw new ArrayIndexOutOfBoundsException();
         } else {
-            for(int i = size - 1; i >= location; i--) {
-                array[i+1] = array[i];
-            }
-            array[location] = value;
+            System.arraycopy(items, location, items, location + 1, size - location);
         }
+        ShiftUndefined(location, 1);
         size = size + 1;
+        SetNative(location, value);
     }
-    
-    public void AddNative(Object_ value) {        
-        if(size >= array.length && this.resizable) {
+
+    public void AddNative(Object_ value) {
+        if(size >= GetMaxSize() && this.resizable) {
             resize(DEFAULT_RESIZE);
         }
-        array[size] = value;
+        if(size >= GetMaxSize()) {
+            throw new ArrayIndexOutOfBoundsException(size);
+        }
         size = size + 1;
+        SetNative(size - 1, value);
     }
-    
+
     private void resize(int factor) {
-        Object_[] newArray = new Object_[array.length * factor];
-        copy(array, newArray);
-        array = newArray;
-    }
-    
-    private void copy(Object_[] from, Object_[] to) {
-        if(to.length > from.length) {
-            for(int i = 0; i < from.length; i++) {
-                to[i] = from[i];
-            }
-        } else {
-            for(int i = 0; i < to.length; i++) {
-                to[i] = from[i];
-            }
-        }
+        Reallocate(GetMaxSize() * factor, size);
     }
-    
+
     public Object_ RemoveAtNative(int location) {
-        Object_ o = array[location];
-        for(int i = location + 1; i < size; i++) {
-            array[i - 1] = array[i];
-        }
+        Object_ o = GetNative(location);
+        java.lang.Object items = GetStore();
+        System.arraycopy(items, location + 1, items, location, size - location - 1);
+        ShiftUndefined(location, -1);
         size = size - 1;
-        array[size] = null;
+        if(storage == OBJECT_STORAGE) {
+            array[size] = null;
+        }
         return o;
     }
-    
+
     public int GetMaxSize() {
+        if(storage == INTEGER_STORAGE) {
+            return integers.length;
+        } else if(storage == NUMBER_STORAGE) {
+            return numbers.length;
+        } else if(storage == BOOLEAN_STORAGE) {
+            return booleans.length;
+        }
         return array.length;
     }
-    
+
     public void SetMaxSize(int size) {
-        if(array.length > size) {
-            Object_[] newArray = new Object_[size];
+        int capacity = GetMaxSize();
+        if(capacity > size) {
             if(this.size > size) {
+                if(undefined != null) {
+                    undefined.clear(size, this.size);
+                }
                 this.size = size;
             }
-            for(int i = 0; i < this.size; i++) {
-                newArray[i] = array[i];
-            }
-            array = newArray;
-        } else if(array.length < size) {
-            Object_[] newArray = new Object_[size];
-            for(int i = 0; i < array.length; i++) {
-                newArray[i] = array[i];
-            }
-            array = newArray;
+            Reallocate(size, this.size);
+        } else if(capacity < size) {
+            Reallocate(size, capacity);
         }//if they are equal, ignore the call.
     }
-    
+
     public int GetSize() {
         return size;
     }
-    
+
     public boolean GetAutoResize() {
         return resizable;
     }
-    
+
     public void SetAutoResize(boolean resizable)
     {
         this.resizable = resizable;
     }
-    
+
     public boolean IsEmpty() {
         return size == 0;
     }
 
     public void ClearContents(int start, int stop) {
-        for(int i = start; i < stop; i++) {
-            array[i] = null;
+        if(storage == OBJECT_STORAGE) {
+            for(int i = start; i < stop; i++) {
+                array[i] = null;
+            }
+        } else {
+            MarkUndefined(start, stop);
         }
     }
 
     //public CreateArrayAtSize(int size) returns Array<Temp>
-    
+
     public void Empty() {
-        array = new Object_[array.length];
+        SetStore(Allocate(GetMaxSize()));
+        undefined = null;
         size = 0;
     }
-    
+
     public void Empty(boolean value) {
         if(value) {
             Empty();
         } else {
+            undefined = null;
             size = 0;
         }
     }
+
+    public void SortNative(boolean parallel) {
+        if(storage != OBJECT_STORAGE && SortUnboxed()) {
+            return;
+        }
+        SortObjects(new Comparator<Object_>() {
+            @Override
+            public int compare(Object_ left, Object_ right) {
+                return Normalize(left.Compare(right));
+            }
+        }, parallel);
+    }
+
+    public void SortNative(final Comparison_ comparison, boolean parallel) {
+        SortObjects(new Comparator<Object_>() {
+            @Override
+            public int compare(Object_ left, Object_ right) {
+                return Normalize(comparison.Compare(left, right));
+            }
+        }, parallel);
+    }
+
+    /**
+     * The merge sort this replaced kept the left item whenever a comparison
+     * returned -1 or 0, so anything else counts as larger.
+     */
+    private static int Normalize(int result) {
+        if(result == -1 || result == 0) {
+            return result;
+        }
+        return 1;
+    }
+
+    /**
+     * Sorts object storage with TimSort, or with the stable parallel merge
+     * in Arrays.parallelSort. The items are sorted in a copy, so a comparison
+     * that fails part way leaves the array as it was.
+     */
+    private void SortObjects(Comparator<Object_> comparator, boolean parallel) {
+        if(storage != OBJECT_STORAGE) {
+            ConvertToObjects();
+        }
+        Object_[] sorted = Arrays.copyOf(array, size);
+        try {
+            if(parallel && size >= PARALLEL_SORT_THRESHOLD) {
+                Arrays.parallelSort(sorted, comparator);
+            } else {
+                Arrays.sort(sorted, comparator);
+            }
+        } catch(IllegalArgumentException ex) {
+            //TimSort noticed the comparison is not consistent. Fall back to a 
+            //plain merge sort, which always finishes, as earlier versions did.
+            sorted = Arrays.copyOf(array, size);
+            MergeSort(sorted, new Object_[size], 0, size - 1, comparator);
+        }
+        System.arraycopy(sorted, 0, array, 0, size);
+    }
+
+    private static void MergeSort(Object_[] items, Object_[] temp, int left, int right, Comparator<Object_> comparator) {
+        if(left >= right) {
+            return;
+        }
+        int center = (left + right) / 2;
+        MergeSort(items, temp, left, center, comparator);
+        MergeSort(items, temp, center + 1, right, comparator);
+        int leftIndex = left;
+        int rightIndex = center + 1;
+        int position = left;
+        while(leftIndex <= center && rightIndex <= right) {
+            if(comparator.compare(items[leftIndex], items[rightIndex]) <= 0) {
+                temp[position++] = items[leftIndex++];
+            } else {
+                temp[position++] = items[rightIndex++];
+            }
+        }
+        while(leftIndex <= center) {
+            temp[position++] = items[leftIndex++];
+        }
+        while(rightIndex <= right) {
+            temp[position++] = items[rightIndex++];
+        }
+        System.arraycopy(temp, left, items, left, right - left + 1);
+    }
+
+    /**
+     * Sorts unboxed storage directly, which needs no calls to Compare, so 
+     * large arrays are always sorted in parallel. Returns false if the items
+     * would not sort the same way Compare orders them, like undefined items,
+     * or numbers that are not a number or negative zero.
+     */
+    private boolean SortUnboxed() {
+        if(undefined != null) {
+            int first = undefined.nextSetBit(0);
+            if(first >= 0 && first < size) {
+                return false;
+            }
+        }
+        boolean parallel = size >= PARALLEL_SORT_THRESHOLD;
+        if(storage == INTEGER_STORAGE) {
+            if(parallel) {
+                Arrays.parallelSort(integers, 0, size);
+            } else {
+                Arrays.sort(integers, 0, size);
+            }
+        } else if(storage == NUMBER_STORAGE) {
+            for(int i = 0; i < size; i++) {
+                double value = numbers[i];
+                if(Double.isNaN(value) || (value == 0 && Double.doubleToRawLongBits(value) != 0)) {
+                    return false;
+                }
+            }
+            if(parallel) {
+                Arrays.parallelSort(numbers, 0, size);
+            } else {
+                Arrays.sort(numbers, 0, size);
+            }
+        } else {
+            int falses = 0;
+            for(int i = 0; i < size; i++) {
+                if(!booleans[i]) {
+                    falses++;
+                }
+            }
+            Arrays.fill(booleans, 0, falses, false);
+            Arrays.fill(booleans, falses, size, true);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the array currently holding the items, whichever kind it is.
+     */
+    java.lang.Object GetStore() {
+        if(storage == INTEGER_STORAGE) {
+            return integers;
+        } else if(storage == NUMBER_STORAGE) {
+            return numbers;
+        } else if(storage == BOOLEAN_STORAGE) {
+            return booleans;
+        }
+        return array;
+    }
+
+    private void SetStore(java.lang.Object items) {
+        if(storage == INTEGER_STORAGE) {
+            integers = (int[]) items;
+        } else if(storage == NUMBER_STORAGE) {
+            numbers = (double[]) items;
+        } else if(storage == BOOLEAN_STORAGE) {
+            booleans = (boolean[]) items;
+        } else {
+            array = (Object_[]) items;
+        }
+    }
+
+    private java.lang.Object Allocate(int capacity) {
+        if(storage == INTEGER_STORAGE) {
+            return new int[capacity];
+        } else if(storage == NUMBER_STORAGE) {
+            return new double[capacity];
+        } else if(storage == BOOLEAN_STORAGE) {
+            return new boolean[capacity];
+        }
+        return new Object_[capacity];
+    }
+
+    /**
+     * Replaces the store with one of a new capacity, keeping the first
+     * count items.
+     */
+    private void Reallocate(int capacity, int count) {
+        java.lang.Object newItems = Allocate(capacity);
+        System.arraycopy(GetStore(), 0, newItems, 0, count);
+        SetStore(newItems);
+    }
+
+    private boolean Accepts(Object_ value) {
+        if(storage == INTEGER_STORAGE) {
+            return value instanceof Integer_;
+        } else if(storage == NUMBER_STORAGE) {
+            return value instanceof Number_;
+        } else if(storage == BOOLEAN_STORAGE) {
+            return value instanceof Boolean_;
+        }
+        return true;
+    }
+
+    private void Store(int location, Object_ value) {
+        if(storage == INTEGER_STORAGE) {
+            integers[location] = ((Integer_) value).GetValue();
+        } else if(storage == NUMBER_STORAGE) {
+            numbers[location] = ((Number_) value).GetValue();
+        } else {
+            booleans[location] = ((Boolean_) value).GetValue();
+        }
+    }
+
+    private Object_ Load(int location) {
+        if(storage == INTEGER_STORAGE) {
+            return plugins.quorum.Libraries.Language.Types.Integer.ConvertIntegerToIntegerObject(integers[location]);
+        } else if(storage == NUMBER_STORAGE) {
+            return plugins.quorum.Libraries.Language.Types.Number.ConvertNumberToNumberObject(numbers[location]);
+        }
+        return plugins.quorum.Libraries.Language.Types.Boolean.ConvertBooleanToBooleanObject(booleans[location]);
+    }
+
+    private void MarkUndefined(int start, int stop) {
+        if(start >= stop) {
+            return;
+        }
+        if(undefined == null) {
+            undefined = new BitSet();
+        }
+        undefined.set(start, stop);
+    }
+
+    /**
+     * Moves the undefined marks after an item is inserted at (1) or removed
+     * from (-1) a location. Call it while size is still the old size.
+     */
+    private void ShiftUndefined(int location, int distance) {
+        if(undefined == null || undefined.nextSetBit(location) < 0) {
+            return;
+        }
+        if(distance > 0) {
+            for(int i = size; i > location; i--) {
+                undefined.set(i, undefined.get(i - 1));
+            }
+            undefined.clear(location);
+        } else {
+            for(int i = location; i < size - 1; i++) {
+                undefined.set(i, undefined.get(i + 1));
+            }
+            undefined.clear(size - 1);
+        }
+    }
+
+    /**
+     * Moves every item into object storage, which can hold anything.
+     */
+    private void ConvertToObjects() {
+        if(storage == OBJECT_STORAGE) {
+            return;
+        }
+        Object_[] objects = new Object_[GetMaxSize()];
+        for(int i = 0; i < size; i++) {
+            objects[i] = GetNative(i);
+        }
+        storage = OBJECT_STORAGE;
+        array = objects;
+        integers = null;
+        numbers = null;
+        booleans = null;
+        undefined = null;
+    }
 }
@@ -24,6 +24,9 @@ public class QueryResult {
     public java.lang.Object me_ = null;
     private ResultSet results = null;
 
+    /* run once, when the last row has been read or the results are closed */
+    private Runnable finished = null;
+
     /**
      * @return the results
      */
@@ -38,6 +41,13 @@ public class QueryResult {
         this.results = results;
     }
 
+    /**
+     * @param finished what to run once these results have been read or closed
+     */
+    public void setFinished(Runnable finished) {
+        this.finished = finished;
+    }
+
     public boolean HasNext() throws SQLException {
         
         if(results == null) {
@@ -46,6 +56,7 @@ public class QueryResult {
         if(!results.isLast() && (results.getRow() != 0 || results.isBeforeFirst())) {
             return true;
         } else {
+            Finished();
             return false;
         }
     }
@@ -124,5 +135,14 @@ public class QueryResult {
         if(results != null) {
             results.close();
         }
+        Finished();
+    }
+
+    private void Finished() {
+        Runnable run = finished;
+        finished = null;
+        if(run != null) {
+            run.run();
+        }
     }
 }
@@ -0,0 +1,157 @@
+package plugins.quorum.Libraries.Data.Database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+import quorum.Libraries.Data.Database.QueryResult_;
+
+/**
+ * A plugin implementation for Libraries.Data.Database.QueryResultToDataFrameConverter.
+ * Rows are read straight off the ResultSet. Number, integer and boolean
+ * columns are filled into primitive arrays that grow as rows arrive and are
+ * handed to the column at the end, so no value is turned into text and back.
+ * If the Find was run with a fetch size, the driver only holds that many rows
+ * at a time, and the arrays are the only full copy of the data.
+ *
+ * @author Andreas Stefik
+ */
+public class QueryResultToDataFrameConverter {
+    public java.lang.Object me_ = null;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<ColumnBuilder> builders = new ArrayList<>();
+
+    public void AddColumnNative(DataFrameColumn_ column, int location) {
+        if (column instanceof quorum.Libraries.Compute.Statistics.Columns.NumberColumn) {
+            builders.add(new NumberBuilder(column, location + 1));
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) {
+            builders.add(new IntegerBuilder(column, location + 1));
+        } else if (column instanceof quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) {
+            builders.add(new BooleanBuilder(column, location + 1));
+        } else {
+            builders.add(new ColumnBuilder(column, location + 1));
+        }
+    }
+
+    /*
+     * Reads every remaining row of the result into the columns added so far,
+     * then closes the result so its statement can be used again.
+     */
+    public void ReadNative(QueryResult_ result) throws SQLException {
+        QueryResult plugin = ((quorum.Libraries.Data.Database.QueryResult) result).plugin_;
+        ResultSet results = plugin.getResults();
+        try {
+            if (results == null) {
+                return;
+            }
+            int row = 0;
+            while (results.next()) {
+                for (int i = 0; i < builders.size(); i++) {
+                    builders.get(i).Read(results, row);
+                }
+                row++;
+            }
+            for (int i = 0; i < builders.size(); i++) {
+                builders.get(i).Finish(row);
+            }
+        } finally {
+            builders.clear();
+            plugin.Close();
+        }
+    }
+
+    /* any other column is given each value as text, as it was before */
+    private static class ColumnBuilder {
+        final DataFrameColumn_ column;
+        final int location;
+        final BitSet undefined = new BitSet();
+
+        ColumnBuilder(DataFrameColumn_ column, int location) {
+            this.column = column;
+            this.location = location;
+        }
+
+        void Read(ResultSet results, int row) throws SQLException {
+            column.Add(results.getString(location));
+        }
+
+        void Finish(int size) {
+        }
+    }
+
+    private static final class NumberBuilder extends ColumnBuilder {
+        double[] values = new double[INITIAL_CAPACITY];
+
+        NumberBuilder(DataFrameColumn_ column, int location) {
+            super(column, location);
+        }
+
+        @Override
+        void Read(ResultSet results, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = results.getDouble(location);
+            if (results.wasNull()) {
+                undefined.set(row);
+            }
+        }
+
+        @Override
+        void Finish(int size) {
+            ((quorum.Libraries.Compute.Statistics.Columns.NumberColumn) column).plugin_.setValues(values, undefined, size);
+        }
+    }
+
+    private static final class IntegerBuilder extends ColumnBuilder {
+        int[] values = new int[INITIAL_CAPACITY];
+
+        IntegerBuilder(DataFrameColumn_ column, int location) {
+            super(column, location);
+        }
+
+        @Override
+        void Read(ResultSet results, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = results.getInt(location);
+            if (results.wasNull()) {
+                undefined.set(row);
+            }
+        }
+
+        @Override
+        void Finish(int size) {
+            ((quorum.Libraries.Compute.Statistics.Columns.IntegerColumn) column).plugin_.setValues(values, undefined, size);
+        }
+    }
+
+    private static final class BooleanBuilder extends ColumnBuilder {
+        final BitSet values = new BitSet();
+
+        BooleanBuilder(DataFrameColumn_ column, int location) {
+            super(column, location);
+        }
+
+        @Override
+        void Read(ResultSet results, int row) throws SQLException {
+            if (results.getBoolean(location)) {
+                values.set(row);
+            }
+            if (results.wasNull()) {
+                undefined.set(row);
+            }
+        }
+
+        @Override
+        void Finish(int size) {
+            ((quorum.Libraries.Compute.Statistics.Columns.BooleanColumn) column).plugin_.setValues(values, undefined, size);
+        }
+    }
+}
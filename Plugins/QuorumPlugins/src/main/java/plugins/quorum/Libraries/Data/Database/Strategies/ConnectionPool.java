@@ -0,0 +1,175 @@
+package plugins.quorum.Libraries.Data.Database.Strategies;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A bounded pool of connections to one database, shared by every
+ * DefaultDatabaseStrategy that connects with the same connection text. A
+ * strategy borrows a connection when it connects and gives it back when it is
+ * closed, so a program that connects, runs a query and closes for every
+ * request only pays for the connection, and for parsing its statements, once.
+ *
+ * Idle connections are handed out most recently used first. One that has sat
+ * idle for a while is checked with isValid before it is handed out, and one
+ * that has sat idle longer than IDLE_TIMEOUT is closed. A connection given
+ * back has its open results closed and its settings restored, so nothing one
+ * strategy changed is seen by the next.
+ *
+ * @author Andreas Stefik
+ */
+final class ConnectionPool {
+    static final int MAXIMUM_SIZE = 8;
+    static final long IDLE_TIMEOUT = 5 * 60 * 1000;
+    static final long VALIDATE_AFTER = 5 * 1000;
+    static final long BORROW_TIMEOUT = 30 * 1000;
+    static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final Map<String, ConnectionPool> POOLS = new HashMap<>();
+
+    private final String location;
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private int open = 0;
+
+    private ConnectionPool(String location) {
+        this.location = location;
+    }
+
+    static synchronized ConnectionPool Get(String location) {
+        ConnectionPool pool = POOLS.get(location);
+        if (pool == null) {
+            pool = new ConnectionPool(location);
+            POOLS.put(location, pool);
+        }
+        return pool;
+    }
+
+    /*
+     * Hands out an idle connection if a valid one is waiting, or opens a new
+     * one if the pool is not full. Otherwise waits for one to be returned.
+     */
+    PooledConnection Borrow() throws SQLException {
+        long deadline = System.currentTimeMillis() + BORROW_TIMEOUT;
+        while (true) {
+            PooledConnection candidate = null;
+            synchronized (this) {
+                Evict();
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                } else if (open < MAXIMUM_SIZE) {
+                    open++;
+                } else {
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        throw new SQLException("All " + MAXIMUM_SIZE + " connections to the database are in use.");
+                    }
+                    try {
+                        wait(wait);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", ex);
+                    }
+                    continue;
+                }
+            }
+
+            if (candidate == null) {
+                Connection connection = null;
+                try {
+                    connection = DriverManager.getConnection(location);
+                    return new PooledConnection(connection);
+                } catch (SQLException | RuntimeException ex) {
+                    if (connection != null) {
+                        try {
+                            connection.close();
+                        } catch (SQLException closing) {
+                            //the connection is being dropped either way
+                        }
+                    }
+                    Released();
+                    throw ex;
+                }
+            }
+
+            if (IsValid(candidate)) {
+                return candidate;
+            }
+            Discard(candidate);
+        }
+    }
+
+    /*
+     * Takes a connection back, ready for the next strategy to borrow. One
+     * whose settings cannot be put back is closed instead.
+     */
+    void Return(PooledConnection pooled) {
+        try {
+            if (pooled.connection.isClosed()) {
+                Discard(pooled);
+                return;
+            }
+            pooled.Reset();
+        } catch (SQLException ex) {
+            Discard(pooled);
+            return;
+        }
+
+        pooled.lastUsed = System.currentTimeMillis();
+        synchronized (this) {
+            idle.offerFirst(pooled);
+            notifyAll();
+        }
+    }
+
+    /* closes a connection that is broken or no longer wanted, freeing its place */
+    void Discard(PooledConnection pooled) {
+        pooled.CloseStatements();
+        try {
+            pooled.connection.close();
+        } catch (SQLException ex) {
+            //the connection is being dropped either way
+        }
+        Released();
+    }
+
+    private synchronized void Released() {
+        open--;
+        notifyAll();
+    }
+
+    private boolean IsValid(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsed < VALIDATE_AFTER) {
+            return true;
+        }
+        try {
+            return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    /* the least recently used connections are at the end of the queue */
+    private void Evict() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledConnection pooled = iterator.next();
+            if (now - pooled.lastUsed < IDLE_TIMEOUT) {
+                break;
+            }
+            iterator.remove();
+            pooled.CloseStatements();
+            try {
+                pooled.connection.close();
+            } catch (SQLException ex) {
+                //the connection is being dropped either way
+            }
+            open--;
+        }
+    }
+}
@@ -7,7 +7,6 @@ package plugins.quorum.Libraries.Data.Database.Strategies;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.ResultSet;
@@ -35,9 +34,22 @@ public class DefaultDatabaseStrategy {
     public java.lang.Object me_ = null;
     Connection connection = null;
     int lastInsertedID = -1;
+
+    /* the connection is borrowed from a pool shared by every strategy using the same database */
+    ConnectionPool pool = null;
+    PooledConnection pooled = null;
+
+    /* inserts added to the batch so far, which all share the same SQL */
+    PreparedStatement batch = null;
+    String batchSQL = null;
+    int batched = 0;
+    int batchRowsAffected = 0;
     
     public void ConnectNative(String value) throws SQLException {
-        connection = DriverManager.getConnection(value);
+        CloseNative();
+        pool = ConnectionPool.Get(value);
+        pooled = pool.Borrow();
+        connection = pooled.connection;
     }
     
     public boolean GetAutoCommitNative() throws SQLException {
@@ -49,18 +61,21 @@ public class DefaultDatabaseStrategy {
 
     public void SetAutoCommitNative(boolean commit) throws SQLException {
         if(connection != null) {
+            FlushBatch();
             connection.setAutoCommit(commit);
         }
     }
 
     public void CommitNative() throws SQLException {
         if(connection != null) {
+            FlushBatch();
             connection.commit();
         }
     }
 
     public void RollbackNative() throws SQLException {
         if(connection != null) {
+            ClearBatch();
             connection.rollback();
         }
     }
@@ -77,67 +92,80 @@ public class DefaultDatabaseStrategy {
     }
     
     public void CreateTableNative(CreateTable_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
-        int executeUpdate = statement.executeUpdate(); //ignore it, it just returns zero anyway
-        statement.closeOnCompletion();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate(); //ignore it, it just returns zero anyway
+        }
     }
     
     public void DropTableNative(DropTable_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
-        int executeUpdate = statement.executeUpdate(); //ignore it, it just returns zero anyway
-        statement.closeOnCompletion();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate(); //ignore it, it just returns zero anyway
+        }
     }
 
     public void EditTableNative(EditTable_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
-        int executeUpdate = statement.executeUpdate(); //ignore it, it just returns zero anyway
-        statement.closeOnCompletion();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate(); //ignore it, it just returns zero anyway
+        }
     }
 
     public void CreateViewNative(CreateView_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
-        statement = SetParameters(statement, ((Query_)query).GetPreparedParameters());
-        int executeUpdate = statement.executeUpdate(); //ignore it, it just returns zero anyway
-        statement.closeOnCompletion();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            SetParameters(statement, ((Query_)query).GetPreparedParameters());
+            statement.executeUpdate(); //ignore it, it just returns zero anyway
+        }
     }
     
-    public QueryResult_ FindNative(Find_ query) throws SQLException {
+    /*
+     * A fetch size of zero leaves it to the driver, which for MySQL reads
+     * every row before returning. Anything larger reads that many rows at a
+     * time through a cursor on the server, if the connection was opened with
+     * useCursorFetch, and is otherwise ignored by the driver.
+     */
+    public QueryResult_ FindNative(Find_ query, int fetchSize) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
+        PreparedStatement statement = pooled.Prepare(sql, false);
         statement = SetParameters(statement, ((Query_)query).GetPreparedParameters());
+        statement.setFetchSize(fetchSize);
         ResultSet results = statement.executeQuery();
         quorum.Libraries.Data.Database.QueryResult qr = new quorum.Libraries.Data.Database.QueryResult();
         QueryResult plugin_ = qr.plugin_;
         plugin_.setResults(results);
+        plugin_.setFinished(pooled.Opened(sql, statement, results));
         return qr;
     }
 
     public int InsertNative(Insert_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        PreparedStatement statement = pooled.Prepare(sql, true);
         statement = SetParameters(statement, ((Query_)query).GetPreparedParameters());
         int rowsAffected = statement.executeUpdate();
-        ResultSet rs = statement.getGeneratedKeys();
-        if (rs.next()) {
-            lastInsertedID = rs.getInt(1);
-        } else {
-            lastInsertedID = -1;
+        try (ResultSet rs = statement.getGeneratedKeys()) {
+            if (rs.next()) {
+                lastInsertedID = rs.getInt(1);
+            } else {
+                lastInsertedID = -1;
+            }
         }
-        statement.close();
         return rowsAffected;
     }
 
     public int UpdateNative(Update_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
+        PreparedStatement statement = pooled.Prepare(sql, false);
         statement = SetParameters(statement, ((Query_)query).GetPreparedParameters());
-        int rowsAffected = statement.executeUpdate();
-        statement.close();
-        return rowsAffected;
+        return statement.executeUpdate();
     }
 
     public int GetLastInsertedIDNative() {
@@ -145,12 +173,69 @@ public class DefaultDatabaseStrategy {
     }
 
     public int DeleteNative(Delete_ query) throws SQLException {
+        FlushBatch();
         String sql = query.ConvertToStructuredQueryLanguage();
-        PreparedStatement statement = connection.prepareStatement(sql);
+        PreparedStatement statement = pooled.Prepare(sql, false);
         statement = SetParameters(statement, ((Query_)query).GetPreparedParameters());
-        int rowsAffected = statement.executeUpdate();
-        statement.close();
-        return rowsAffected;
+        return statement.executeUpdate();
+    }
+    
+    /*
+     * Adds the insert to the batch. An insert into different columns than the
+     * ones waiting needs a different statement, so those are sent first.
+     */
+    public void AddToBatchNative(Insert_ query, int batchSize) throws SQLException {
+        String sql = query.ConvertToStructuredQueryLanguage();
+        if (batch != null && !sql.equals(batchSQL)) {
+            FlushBatch();
+        }
+        if (batch == null) {
+            batch = pooled.Prepare(sql, true);
+            batchSQL = sql;
+        } else {
+            batch.clearParameters();
+        }
+        SetParameters(batch, ((Query_)query).GetPreparedParameters());
+        batch.addBatch();
+        batched++;
+        if (batched >= batchSize) {
+            FlushBatch();
+        }
+    }
+
+    public int RunBatchNative() throws SQLException {
+        FlushBatch();
+        int rows = batchRowsAffected;
+        batchRowsAffected = 0;
+        return rows;
+    }
+
+    private void FlushBatch() throws SQLException {
+        if (batch == null) {
+            return;
+        }
+        PreparedStatement statement = batch;
+        batch = null;
+        batchSQL = null;
+        batched = 0;
+        try {
+            for (int rows : statement.executeBatch()) {
+                //a rewritten batch may not know how many rows each insert added
+                batchRowsAffected += rows == Statement.SUCCESS_NO_INFO ? 1 : rows;
+            }
+        } finally {
+            statement.clearBatch();
+        }
+    }
+
+    private void ClearBatch() throws SQLException {
+        if (batch != null) {
+            batch.clearBatch();
+        }
+        batch = null;
+        batchSQL = null;
+        batched = 0;
+        batchRowsAffected = 0;
     }
     
     private PreparedStatement SetParameters(PreparedStatement statement, Array_ params) throws SQLException {
@@ -159,6 +244,14 @@ public class DefaultDatabaseStrategy {
             Parameter_ param = (Parameter_)params.Get(i);
             if (param.IsText()) {
                 statement.setString(i+1, param.GetValueAsText());
+            } else if (param.IsInteger()) {
+                statement.setInt(i+1, param.GetIntegerValue());
+            } else if (param.IsNumber()) {
+                statement.setDouble(i+1, param.GetNumberValue());
+            } else if (param.IsBoolean()) {
+                statement.setBoolean(i+1, param.GetBooleanValue());
+            } else if (param.IsBigInteger()) {
+                statement.setBigDecimal(i+1, new java.math.BigDecimal(param.GetValueAsText()));
             }
         }
         return statement;
@@ -166,13 +259,23 @@ public class DefaultDatabaseStrategy {
 
     public void CloseNative() throws SQLException {
         if(connection != null) {
+            //inserts still in the batch are sent before the connection is given back
+            FlushBatch();
+            PooledConnection returning = pooled;
+            connection = null;
+            pooled = null;
+
             //follow the default recommendation, which is to commit before close
             //if not set to auto-commit
-            if(!connection.getAutoCommit()) {
-                connection.commit();
+            try {
+                if(!returning.connection.getAutoCommit()) {
+                    returning.connection.commit();
+                }
+            } catch (SQLException ex) {
+                pool.Discard(returning);
+                throw ex;
             }
-            connection.close();
-            connection = null;
+            pool.Return(returning);
         }
     }
 }
@@ -0,0 +1,216 @@
+package plugins.quorum.Libraries.Data.Database.Strategies;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A connection held by a ConnectionPool, along with a least recently used
+ * cache of the statements prepared on it, keyed by their SQL text. Queries
+ * built from the same Find, Insert or Update produce the same text, so
+ * running them again skips sending the SQL to the server to be parsed.
+ *
+ * Only inserts ask for generated keys, whether run on their own or in a
+ * batch, and their SQL is always an INSERT that nothing else prepares, so the
+ * text alone is enough of a key.
+ *
+ * The connection's settings are recorded when it is opened. Reset puts them
+ * back, and closes any results the last borrower left open, before the
+ * connection is handed to anyone else.
+ *
+ * @author Andreas Stefik
+ */
+final class PooledConnection {
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    final Connection connection;
+    long lastUsed = System.currentTimeMillis();
+
+    private final boolean readOnly;
+    private final int isolation;
+    private final String catalog;
+    private final boolean schemas;
+    private final String schema;
+
+    private final LinkedHashMap<String, CachedStatement> statements =
+        new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= STATEMENT_CACHE_SIZE) {
+                    return false;
+                }
+                eldest.getValue().Release();
+                return true;
+            }
+        };
+
+    /* statements made because the cached one was busy, open until their results are finished */
+    private final HashSet<PreparedStatement> uncached = new HashSet<>();
+
+    PooledConnection(Connection connection) throws SQLException {
+        this.connection = connection;
+        readOnly = connection.isReadOnly();
+        isolation = connection.getTransactionIsolation();
+        catalog = connection.getCatalog();
+
+        //drivers written before JDBC 4.1 have no schema to ask for
+        String current = null;
+        boolean supported = true;
+        try {
+            current = connection.getSchema();
+        } catch (SQLException | AbstractMethodError ex) {
+            supported = false;
+        }
+        schemas = supported;
+        schema = current;
+    }
+
+    /*
+     * Returns the cached statement for the SQL, preparing it the first time.
+     * A cached query whose last results are still being read is left alone,
+     * and a separate statement is used instead, so running the same Find
+     * twice never closes the first QueryResult.
+     */
+    synchronized PreparedStatement Prepare(String sql, boolean generatedKeys) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && cached.IsBusy()) {
+            PreparedStatement statement = Create(sql, generatedKeys);
+            uncached.add(statement);
+            return statement;
+        }
+
+        if (cached == null) {
+            cached = new CachedStatement(Create(sql, generatedKeys));
+            statements.put(sql, cached);
+        } else {
+            cached.statement.clearParameters();
+        }
+        cached.results = null;
+        return cached.statement;
+    }
+
+    /*
+     * Records results that are being read, and returns what to run once the
+     * QueryResult holding them has read the last row or been closed. Until
+     * then, the statement that made them is not reused.
+     */
+    synchronized Runnable Opened(String sql, final PreparedStatement statement, final ResultSet results) {
+        final CachedStatement cached = statements.get(sql);
+        if (cached != null && cached.statement == statement) {
+            cached.results = results;
+            return () -> {
+                synchronized (this) {
+                    if (cached.results == results) {
+                        cached.results = null;
+                    }
+                }
+            };
+        }
+        return () -> {
+            synchronized (this) {
+                if (uncached.remove(statement)) {
+                    Close(statement);
+                }
+            }
+        };
+    }
+
+    /*
+     * Readies the connection for its next borrower: closes any results still
+     * open, ends any transaction and restores the settings it was opened
+     * with. If this throws, the connection should be discarded.
+     */
+    void Reset() throws SQLException {
+        synchronized (this) {
+            for (CachedStatement cached : statements.values()) {
+                if (cached.results != null) {
+                    ResultSet results = cached.results;
+                    cached.results = null;
+                    results.close();
+                }
+            }
+            for (PreparedStatement statement : uncached) {
+                Close(statement);
+            }
+            uncached.clear();
+        }
+
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+        if (connection.isReadOnly() != readOnly) {
+            connection.setReadOnly(readOnly);
+        }
+        if (connection.getTransactionIsolation() != isolation) {
+            connection.setTransactionIsolation(isolation);
+        }
+        if (!Objects.equals(connection.getCatalog(), catalog)) {
+            connection.setCatalog(catalog);
+        }
+        if (schemas && !Objects.equals(connection.getSchema(), schema)) {
+            connection.setSchema(schema);
+        }
+        connection.clearWarnings();
+    }
+
+    private PreparedStatement Create(String sql, boolean generatedKeys) throws SQLException {
+        if (generatedKeys) {
+            return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        }
+        return connection.prepareStatement(sql);
+    }
+
+    synchronized void CloseStatements() {
+        for (CachedStatement cached : statements.values()) {
+            cached.Release();
+        }
+        statements.clear();
+        for (PreparedStatement statement : uncached) {
+            Close(statement);
+        }
+        uncached.clear();
+    }
+
+    private static void Close(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            //the statement is being dropped either way
+        }
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement statement;
+
+        /* the results of the last query, until the QueryResult reading them is finished */
+        ResultSet results = null;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        boolean IsBusy() {
+            return results != null;
+        }
+
+        /* closes the statement now, or once its results are closed if they are still in use */
+        void Release() {
+            try {
+                if (IsBusy()) {
+                    statement.closeOnCompletion();
+                } else {
+                    statement.close();
+                }
+            } catch (SQLException ex) {
+                //the statement is being dropped either way
+            }
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package plugins.quorum.Libraries.Data.Formats;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import quorum.Libraries.Compute.Statistics.Columns.BooleanColumn_;
+import quorum.Libraries.Compute.Statistics.Columns.NumberColumn_;
+import quorum.Libraries.Compute.Statistics.DataFrameColumn_;
+import quorum.Libraries.Language.Errors.InputOutputError;
+import quorum.Libraries.System.File_;
+
+/**
+ * The native side of Libraries.Data.Formats.SeparatedValueColumnReader. A
+ * separated value file is memory mapped and tokenized as UTF-8 bytes, so the
+ * text of the file is never held on the heap. Opening reads the header and a
+ * sample of rows to guess the type of each column. Parsing splits the rest of
+ * the file into chunks on record boundaries, which can be parsed in parallel
+ * straight into typed column builders. Filling then hands each column's values
+ * to a DataFrameColumn without parsing them again.
+ *
+ * Quoted cells may contain separators and line breaks, and a doubled quote
+ * inside a quoted cell is a literal quote. A quote that is still open at the
+ * end of the file, or after QUOTED_SIZE bytes, is reported as an error rather
+ * than swallowing the rest of the file. Blank lines are skipped, and the last
+ * cell of each record is trimmed of surrounding white space, as the row
+ * reader does.
+ *
+ * @author Andreas Stefik
+ */
+public class SeparatedValueColumnReader {
+    public java.lang.Object me_ = null;
+
+    public static final int TEXT_COLUMN = 0;
+    public static final int NUMBER_COLUMN = 1;
+    public static final int BOOLEAN_COLUMN = 2;
+
+    /* the size the file is split into for parsing, ended at the next record */
+    private static final long CHUNK_SIZE = 16L * 1024 * 1024;
+    /* the largest region mapped at once */
+    private static final long WINDOW_SIZE = 1L << 30;
+    /* the longest a quoted cell may be before its quote is taken as unclosed */
+    private static final long QUOTED_SIZE = 64L * 1024 * 1024;
+
+    private static final byte QUOTE = '"';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private FileChannel channel = null;
+    private byte[] separator = {','};
+    private String[] headers = new String[0];
+    private String[] samples = new String[0];
+    private int[] types = new int[0];
+    private long dataStart = 0;
+    private List<Chunk> chunks = new ArrayList<>();
+
+    public void OpenNative(File_ file, String separator, int sampleSize) throws InputOutputError {
+        try {
+            Close();
+            this.separator = separator.getBytes(StandardCharsets.UTF_8);
+            channel = FileChannel.open(Paths.get(file.GetAbsolutePath()), StandardOpenOption.READ);
+            long size = channel.size();
+            MappedByteBuffer window = Map(0, Math.min(size, WINDOW_SIZE));
+            Record record = new Record();
+
+            int position = 0;
+            int limit = window.limit();
+            position = NextRecord(window, 0, position, limit, record);
+            if (position < 0) {
+                headers = new String[0];
+                samples = new String[0];
+                types = new int[0];
+                return;
+            }
+            headers = record.ToStrings();
+            dataStart = position;
+
+            //guess the types from a sample of rows after the header
+            List<String[]> sample = new ArrayList<>();
+            while (sample.size() < sampleSize && (position = NextRecord(window, 0, position, limit, record)) >= 0) {
+                sample.add(record.ToStrings());
+            }
+
+            int columns = sample.isEmpty() ? headers.length : sample.get(0).length;
+            types = new int[columns];
+            samples = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                types[i] = InferType(sample, i);
+                samples[i] = "";
+                for (String[] row : sample) {
+                    if (i < row.length && !row[i].isEmpty()) {
+                        samples[i] = row[i];
+                        break;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw Error(ex);
+        }
+    }
+
+    public void ParseNative(boolean parallel) throws InputOutputError {
+        try {
+            chunks = Split();
+            if (parallel && chunks.size() > 1) {
+                chunks.parallelStream().forEach(SeparatedValueColumnReader::ParseUnchecked);
+            } else {
+                for (Chunk chunk : chunks) {
+                    chunk.Parse();
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw Error(ex.getCause());
+        } catch (IOException ex) {
+            throw Error(ex);
+        }
+    }
+
+    public void Fill(int column, DataFrameColumn_ target) {
+        int type = types[column];
+        for (Chunk chunk : chunks) {
+            ColumnBuilder builder = chunk.columns[column];
+            chunk.columns[column] = null;
+            if (builder == null) {
+                continue;
+            }
+            for (int row = 0; row < builder.size; row++) {
+                if (builder.missing.get(row)) {
+                    target.Add((String) null);
+                } else if (type == NUMBER_COLUMN) {
+                    ((NumberColumn_) target).Add(builder.numbers[row]);
+                } else if (type == BOOLEAN_COLUMN) {
+                    ((BooleanColumn_) target).Add(builder.booleans[row]);
+                } else {
+                    target.Add(builder.texts[row]);
+                }
+            }
+        }
+    }
+
+    public int GetColumnCount() {
+        return types.length;
+    }
+
+    public int GetRowCount() {
+        int rows = 0;
+        for (Chunk chunk : chunks) {
+            rows += chunk.rows;
+        }
+        return rows;
+    }
+
+    public String GetHeader(int column) {
+        if (column < headers.length) {
+            return headers[column];
+        }
+        return null;
+    }
+
+    public String GetSample(int column) {
+        return samples[column];
+    }
+
+    public int GetColumnType(int column) {
+        return types[column];
+    }
+
+    public void SetColumnType(int column, int type) {
+        types[column] = type;
+    }
+
+    public void Close() throws InputOutputError {
+        chunks = new ArrayList<>();
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw Error(ex);
+        } finally {
+            channel = null;
+        }
+    }
+
+    private static InputOutputError Error(IOException ex) {
+        InputOutputError error = new InputOutputError();
+        if (ex.getMessage() != null) {
+            error.SetErrorMessage(ex.getMessage());
+        }
+        return error;
+    }
+
+    /*
+     * Maps a region of the file, reporting a region too large to map as an
+     * IOException like any other failure to read.
+     */
+    private MappedByteBuffer Map(long position, long size) throws IOException {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Could not read " + size + " bytes at byte " + position + " of the file.", ex);
+        }
+    }
+
+    private static IOException Unclosed(long quote) {
+        return new IOException("The quote at byte " + quote + " of the file is never closed.");
+    }
+
+    private static void ParseUnchecked(Chunk chunk) {
+        try {
+            chunk.Parse();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /*
+     * A column is a number column if every value in the sample is a number,
+     * and a boolean column if every value is true or false, which are the same
+     * rules the loader uses on a single value. Empty values are ignored.
+     */
+    private static int InferType(List<String[]> sample, int column) {
+        boolean numbers = true;
+        boolean booleans = true;
+        boolean any = false;
+        for (String[] row : sample) {
+            if (column >= row.length || row[column].isEmpty()) {
+                continue;
+            }
+            String value = row[column];
+            any = true;
+            if (numbers) {
+                try {
+                    Double.parseDouble(value);
+                } catch (NumberFormatException ex) {
+                    numbers = false;
+                }
+            }
+            if (booleans && !value.equals("true") && !value.equals("false")) {
+                booleans = false;
+            }
+            if (!numbers && !booleans) {
+                return TEXT_COLUMN;
+            }
+        }
+        if (!any) {
+            return TEXT_COLUMN;
+        }
+        return numbers ? NUMBER_COLUMN : BOOLEAN_COLUMN;
+    }
+
+    /*
+     * Walks the file once, tracking whether we are inside quotes, and ends a
+     * chunk at the first line break outside quotes after every CHUNK_SIZE
+     * bytes. Only line breaks and quotes are looked at, so this is much
+     * cheaper than the parse itself. A quote left open for QUOTED_SIZE bytes
+     * or until the end of the file is an error, which also keeps every chunk
+     * small enough to map.
+     */
+    private List<Chunk> Split() throws IOException {
+        List<Chunk> result = new ArrayList<>();
+        long size = channel.size();
+        long start = dataStart;
+        boolean quoted = false;
+        long quote = 0;
+        long offset = start;
+        while (offset < size) {
+            long length = Math.min(size - offset, WINDOW_SIZE);
+            MappedByteBuffer window = Map(offset, length);
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                if (offset + i + 1 - start > Integer.MAX_VALUE) {
+                    throw new IOException("A record near byte " + start + " of the file is too long to read.");
+                }
+                if (b == QUOTE) {
+                    quoted = !quoted;
+                    quote = offset + i;
+                } else if (quoted) {
+                    if (offset + i - quote > QUOTED_SIZE) {
+                        throw Unclosed(quote);
+                    }
+                } else if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+                    if (offset + i + 1 - start >= CHUNK_SIZE) {
+                        long end = offset + i + 1;
+                        result.add(new Chunk(start, end));
+                        start = end;
+                    }
+                }
+            }
+            offset += length;
+        }
+        if (quoted) {
+            throw Unclosed(quote);
+        }
+        if (start < size) {
+            result.add(new Chunk(start, size));
+        }
+        return result;
+    }
+
+    /*
+     * Reads the record starting at position into the record, skipping blank
+     * lines. Returns the position after the record, or -1 if there are no
+     * more records before the limit. The buffer starts at byte base of the
+     * file, so a quote still open at the limit can be told apart from one
+     * that runs past the window the header and sample are read from.
+     */
+    private int NextRecord(ByteBuffer buffer, long base, int position, int limit, Record record) throws IOException {
+        int p = position;
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (b != LINE_FEED && b != CARRIAGE_RETURN) {
+                break;
+            }
+            p++;
+        }
+        if (p >= limit) {
+            return -1;
+        }
+
+        record.Clear();
+        byte first = separator[0];
+        boolean quoted = false;
+        int quote = 0;
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (quoted) {
+                if (b == QUOTE) {
+                    if (p + 1 < limit && buffer.get(p + 1) == QUOTE) {
+                        record.Append(QUOTE);
+                        p += 2;
+                        continue;
+                    }
+                    quoted = false;
+                } else if (p - quote > QUOTED_SIZE) {
+                    throw Unclosed(base + quote);
+                } else {
+                    record.Append(b);
+                }
+                p++;
+            } else if (b == QUOTE) {
+                quoted = true;
+                quote = p;
+                p++;
+            } else if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+                p++;
+                if (b == CARRIAGE_RETURN && p < limit && buffer.get(p) == LINE_FEED) {
+                    p++;
+                }
+                break;
+            } else if (b == first && Matches(buffer, p, limit)) {
+                record.EndCell();
+                p += separator.length;
+            } else {
+                record.Append(b);
+                p++;
+            }
+        }
+        if (quoted && base + limit >= channel.size()) {
+            throw Unclosed(base + quote);
+        }
+        record.TrimCell();
+        record.EndCell();
+        return p;
+    }
+
+    private boolean Matches(ByteBuffer buffer, int position, int limit) {
+        if (position + separator.length > limit) {
+            return false;
+        }
+        for (int i = 1; i < separator.length; i++) {
+            if (buffer.get(position + i) != separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The cells of one record, stored end to end in a reusable byte array.
+     */
+    private static final class Record {
+        byte[] data = new byte[1024];
+        int length = 0;
+        int[] ends = new int[64];
+        int cells = 0;
+
+        void Clear() {
+            length = 0;
+            cells = 0;
+        }
+
+        void Append(byte b) {
+            if (length == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[length++] = b;
+        }
+
+        /*
+         * Removes white space from both ends of the cell being read.
+         */
+        void TrimCell() {
+            int start = Start(cells);
+            while (length > start && (data[length - 1] & 0xFF) <= ' ') {
+                length--;
+            }
+            int first = start;
+            while (first < length && (data[first] & 0xFF) <= ' ') {
+                first++;
+            }
+            if (first > start) {
+                System.arraycopy(data, first, data, start, length - first);
+                length -= first - start;
+            }
+        }
+
+        void EndCell() {
+            if (cells == ends.length) {
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+            ends[cells++] = length;
+        }
+
+        int Start(int cell) {
+            return cell == 0 ? 0 : ends[cell - 1];
+        }
+
+        String[] ToStrings() {
+            String[] result = new String[cells];
+            for (int i = 0; i < cells; i++) {
+                int start = Start(i);
+                result[i] = new String(data, start, ends[i] - start, StandardCharsets.UTF_8);
+            }
+            return result;
+        }
+    }
+
+    /*
+     * The values of one column within one chunk, in the form the column's
+     * type calls for.
+     */
+    private static final class ColumnBuilder {
+        final int type;
+        double[] numbers;
+        boolean[] booleans;
+        String[] texts;
+        final BitSet missing = new BitSet();
+        int size = 0;
+
+        ColumnBuilder(int type) {
+            this.type = type;
+            if (type == NUMBER_COLUMN) {
+                numbers = new double[1024];
+            } else if (type == BOOLEAN_COLUMN) {
+                booleans = new boolean[1024];
+            } else {
+                texts = new String[1024];
+            }
+        }
+
+        void Grow() {
+            if (numbers != null && size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            } else if (booleans != null && size == booleans.length) {
+                booleans = Arrays.copyOf(booleans, size * 2);
+            } else if (texts != null && size == texts.length) {
+                texts = Arrays.copyOf(texts, size * 2);
+            }
+        }
+
+        void AddMissing() {
+            Grow();
+            missing.set(size);
+            size++;
+        }
+
+        void Add(byte[] data, int start, int end) {
+            Grow();
+            int length = end - start;
+            if (type == TEXT_COLUMN) {
+                texts[size] = new String(data, start, length, StandardCharsets.UTF_8);
+            } else if (length == 0) {
+                missing.set(size);
+            } else if (type == NUMBER_COLUMN) {
+                try {
+                    numbers[size] = Double.parseDouble(new String(data, start, length, StandardCharsets.ISO_8859_1));
+                } catch (NumberFormatException ex) {
+                    missing.set(size);
+                }
+            } else {
+                int value = ParseBoolean(data, start, length);
+                if (value < 0) {
+                    missing.set(size);
+                } else {
+                    booleans[size] = value == 1;
+                }
+            }
+            size++;
+        }
+
+        /*
+         * Accepts the same words as BooleanColumn, ignoring case. Returns 1
+         * for true, 0 for false and -1 for anything else.
+         */
+        static int ParseBoolean(byte[] data, int start, int length) {
+            if (length > 5) {
+                return -1;
+            }
+            String value = new String(data, start, length, StandardCharsets.ISO_8859_1).toLowerCase();
+            switch (value) {
+                case "true": case "t": case "y": case "yes": case "1":
+                    return 1;
+                case "false": case "f": case "n": case "no": case "0":
+                    return 0;
+                default:
+                    return -1;
+            }
+        }
+    }
+
+    /*
+     * A range of the file that starts and ends on record boundaries.
+     */
+    private final class Chunk {
+        final long start;
+        final long end;
+        ColumnBuilder[] columns;
+        int rows = 0;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void Parse() throws IOException {
+            columns = new ColumnBuilder[types.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new ColumnBuilder(types[i]);
+            }
+
+            MappedByteBuffer buffer = Map(start, end - start);
+            Record record = new Record();
+            int position = 0;
+            int limit = buffer.limit();
+            while ((position = NextRecord(buffer, start, position, limit, record)) >= 0) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i < record.cells) {
+                        columns[i].Add(record.data, record.Start(i), record.ends[i]);
+                    } else {
+                        columns[i].AddMissing();
+                    }
+                }
+                rows++;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package plugins.quorum.Libraries.Language.Compile;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The native plugin for Libraries.Language.Compile.CompileLock. The lock is
+ * fair, so a compile waiting on it is not passed over by later requests.
+ *
+ * @author Andreas Stefik
+ */
+public class CompileLock {
+    public java.lang.Object me_ = null;
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    public void Lock() {
+        lock.lock();
+    }
+
+    public void Unlock() {
+        lock.unlock();
+    }
+}
@@ -0,0 +1,185 @@
+package plugins.quorum.Libraries.Language.Compile;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The native plugin for Libraries.Language.Compile.CompilerMetrics. Each
+ * series keeps a ring of its most recent times, which is sorted when the
+ * metrics are read, so adding a time is cheap and the percentiles follow
+ * recent load rather than everything since the server started.
+ *
+ * Garbage collections are read from the virtual machine when the metrics are
+ * written, and count the whole process, since compiles running at the same
+ * time share one collector and cannot be told apart.
+ *
+ * @author Andreas Stefik
+ */
+public class CompilerMetrics {
+    public java.lang.Object me_ = null;
+    private static final int DEFAULT_WINDOW_SIZE = 1024;
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final String PREFIX = "quorum_compiler_";
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private final LinkedHashMap<String, Window> phases = new LinkedHashMap<>();
+    private Window files = new Window(DEFAULT_WINDOW_SIZE);
+    private Window compiles = new Window(DEFAULT_WINDOW_SIZE);
+    private Window responses = new Window(DEFAULT_WINDOW_SIZE);
+    private double allocatedBytes = 0;
+
+    public synchronized void AddPhaseNative(String phase, double time) {
+        Window window = phases.get(phase);
+        if(window == null) {
+            window = new Window(windowSize);
+            phases.put(phase, window);
+        }
+        window.Add(time);
+    }
+
+    public synchronized void AddFileNative(double time) {
+        files.Add(time);
+    }
+
+    public synchronized void AddCompileNative(double time, double allocated) {
+        compiles.Add(time);
+        if(allocated > 0) {
+            allocatedBytes += allocated;
+        }
+    }
+
+    public synchronized void AddResponseTime(double time) {
+        responses.Add(time);
+    }
+
+    public synchronized void SetWindowSize(int size) {
+        windowSize = size < 1 ? 1 : size;
+        Empty();
+    }
+
+    public synchronized int GetWindowSize() {
+        return windowSize;
+    }
+
+    public synchronized void Empty() {
+        phases.clear();
+        files = new Window(windowSize);
+        compiles = new Window(windowSize);
+        responses = new Window(windowSize);
+        allocatedBytes = 0;
+    }
+
+    public synchronized String GetTextNative() {
+        StringBuilder builder = new StringBuilder();
+        WriteSummary(builder, "response_seconds", "Time to answer a compile server request.", null, null, responses, true);
+        WriteSummary(builder, "compile_seconds", "Time to compile a request.", null, null, compiles, true);
+        boolean first = true;
+        Iterator<Map.Entry<String, Window>> iterator = phases.entrySet().iterator();
+        while(iterator.hasNext()) {
+            Map.Entry<String, Window> entry = iterator.next();
+            WriteSummary(builder, "phase_seconds", "Time spent in each phase of the compiler.", "phase", ToLabel(entry.getKey()), entry.getValue(), first);
+            first = false;
+        }
+        WriteSummary(builder, "file_parse_seconds", "Time to lex and parse a single file.", null, null, files, true);
+        WriteCounter(builder, "allocated_bytes_total", "Bytes allocated while compiling.", allocatedBytes);
+        long collections = 0;
+        long collectionTime = 0;
+        for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            //a collector that does not keep counts returns -1
+            collections += Math.max(0, bean.getCollectionCount());
+            collectionTime += Math.max(0, bean.getCollectionTime());
+        }
+        WriteCounter(builder, "process_garbage_collections_total", "Garbage collections in the whole process, not only while compiling.", collections);
+        WriteCounter(builder, "process_garbage_collection_seconds_total", "Time the whole process spent collecting garbage, not only while compiling.", collectionTime / 1000.0);
+        return builder.toString();
+    }
+
+    private static void WriteSummary(StringBuilder builder, String name, String help, String label, String value, Window window, boolean header) {
+        String metric = PREFIX + name;
+        if(header) {
+            builder.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+            builder.append("# TYPE ").append(metric).append(" summary\n");
+        }
+        String labels = label == null ? "" : label + "=\"" + Escape(value) + "\",";
+        double[] sorted = window.GetSorted();
+        for(int i = 0; i < QUANTILES.length; i++) {
+            builder.append(metric).append('{').append(labels).append("quantile=\"").append(QUANTILES[i]).append("\"} ");
+            builder.append(Format(Percentile(sorted, QUANTILES[i]) / 1000.0)).append('\n');
+        }
+        String total = label == null ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        builder.append(metric).append("_sum").append(total).append(' ').append(Format(window.sum / 1000.0)).append('\n');
+        builder.append(metric).append("_count").append(total).append(' ').append(window.count).append('\n');
+    }
+
+    private static void WriteCounter(StringBuilder builder, String name, String help, double value) {
+        String metric = PREFIX + name;
+        builder.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(metric).append(" counter\n");
+        builder.append(metric).append(' ').append(Format(value)).append('\n');
+    }
+
+    /**
+     * Nearest rank percentile of an already sorted array.
+     */
+    private static double Percentile(double[] sorted, double quantile) {
+        if(sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        if(rank < 0) {
+            rank = 0;
+        }
+        return sorted[rank];
+    }
+
+    private static String Format(double value) {
+        if(Double.isNaN(value)) {
+            return "NaN";
+        }
+        if(value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String ToLabel(String phase) {
+        return phase.toLowerCase(Locale.ROOT).replace(' ', '_');
+    }
+
+    private static String Escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static class Window {
+        private final double[] values;
+        private int next = 0;
+        private int size = 0;
+        private long count = 0;
+        private double sum = 0;
+
+        Window(int capacity) {
+            values = new double[capacity];
+        }
+
+        void Add(double value) {
+            values[next] = value;
+            next = (next + 1) % values.length;
+            if(size < values.length) {
+                size++;
+            }
+            count++;
+            sum += value;
+        }
+
+        double[] GetSorted() {
+            double[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
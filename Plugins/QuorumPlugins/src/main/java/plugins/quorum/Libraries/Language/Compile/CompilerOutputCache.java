@@ -0,0 +1,313 @@
+package plugins.quorum.Libraries.Language.Compile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The native plugin for Libraries.Language.Compile.CompilerOutputCache. The
+ * memory tier is an access ordered LinkedHashMap bounded by the number of
+ * characters it holds. Access to it is synchronized, as the compile server
+ * answers requests on several threads, but files in the cache folder are read
+ * and written outside the lock, so one request's disk access never holds up
+ * another request's memory hit.
+ *
+ * The cache folder is bounded by the bytes it holds. Files are touched when
+ * they are read, and when the folder grows past its maximum the least
+ * recently used files are deleted until it is back under. Each output is
+ * written to key.tmp and then moved into place. Only one write per key runs
+ * at a time, and any .tmp file left by a write that never finished is
+ * deleted when the folder is opened.
+ *
+ * @author Andreas Stefik
+ */
+public class CompilerOutputCache {
+    public java.lang.Object me_ = null;
+    private static final int DEFAULT_MAXIMUM_SIZE = 32 * 1024 * 1024;
+    private static final int DEFAULT_MAXIMUM_DISK_SIZE = 256 * 1024 * 1024;
+    private static final String EXTENSION = ".cache";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private int size = 0;
+    private int hits = 0;
+    private int diskHits = 0;
+    private int misses = 0;
+
+    /* the folder, and the bytes it holds, are guarded by the disk lock */
+    private final Object disk = new Object();
+    private File folder = null;
+    private long diskSize = 0;
+    private int maximumDiskSize = DEFAULT_MAXIMUM_DISK_SIZE;
+    private final HashSet<String> writing = new HashSet<>();
+
+    public String Hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Hexadecimal(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            //every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /*
+     * Hashes the path, size and modification time of every file in a folder,
+     * so the result changes whenever a file is added, removed or rewritten.
+     */
+    public String GetFolderHashNative(String path) throws IOException {
+        final Path root = Paths.get(path);
+        final List<String> lines = new ArrayList<>();
+        if(Files.isDirectory(root)) {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    lines.add(root.relativize(file).toString().replace('\\', '/') + ":"
+                        + attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        //the order files are visited in depends on the file system
+        lines.sort(null);
+        return Hash(String.join("\n", lines));
+    }
+
+    public String Get(String key) {
+        synchronized(this) {
+            String value = entries.get(key);
+            if(value != null) {
+                hits++;
+                return value;
+            }
+        }
+
+        String value = ReadFromDisk(key);
+        synchronized(this) {
+            if(value != null) {
+                hits++;
+                diskHits++;
+                Store(key, value);
+            } else {
+                misses++;
+            }
+        }
+        return value;
+    }
+
+    public void Put(String key, String value) {
+        if(key == null || value == null) {
+            return;
+        }
+        synchronized(this) {
+            Store(key, value);
+        }
+        WriteToDisk(key, value);
+    }
+
+    public synchronized void SetMaximumSize(int size) {
+        maximumSize = size < 0 ? 0 : size;
+        Evict();
+    }
+
+    public synchronized int GetMaximumSize() {
+        return maximumSize;
+    }
+
+    public synchronized int GetSize() {
+        return size;
+    }
+
+    public synchronized int GetEntryCount() {
+        return entries.size();
+    }
+
+    public void SetMaximumDiskSize(int size) {
+        synchronized(disk) {
+            maximumDiskSize = size < 0 ? 0 : size;
+            Trim();
+        }
+    }
+
+    public int GetMaximumDiskSize() {
+        synchronized(disk) {
+            return maximumDiskSize;
+        }
+    }
+
+    public void SetCacheFolderNative(String path) {
+        synchronized(disk) {
+            if(path == null || path.isEmpty()) {
+                folder = null;
+                diskSize = 0;
+                return;
+            }
+            folder = new File(path);
+            diskSize = 0;
+            File[] temporary = folder.listFiles((directory, name) -> name.endsWith(TEMPORARY_EXTENSION));
+            if(temporary != null) {
+                for(File file : temporary) {
+                    file.delete();
+                }
+            }
+            for(File file : CacheFiles()) {
+                diskSize += file.length();
+            }
+            Trim();
+        }
+    }
+
+    public synchronized int GetHits() {
+        return hits;
+    }
+
+    public synchronized int GetDiskHits() {
+        return diskHits;
+    }
+
+    public synchronized int GetMisses() {
+        return misses;
+    }
+
+    public synchronized void Empty() {
+        entries.clear();
+        size = 0;
+        hits = 0;
+        diskHits = 0;
+        misses = 0;
+    }
+
+    private void Store(String key, String value) {
+        //a single output larger than the whole cache is not worth keeping
+        if(value.length() > maximumSize) {
+            return;
+        }
+        String previous = entries.put(key, value);
+        if(previous != null) {
+            size -= previous.length();
+        }
+        size += value.length();
+        Evict();
+    }
+
+    private void Evict() {
+        Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+        while(size > maximumSize && iterator.hasNext()) {
+            Map.Entry<String, String> eldest = iterator.next();
+            size -= eldest.getValue().length();
+            iterator.remove();
+        }
+    }
+
+    private File CacheFolder() {
+        synchronized(disk) {
+            return folder;
+        }
+    }
+
+    private String ReadFromDisk(String key) {
+        File directory = CacheFolder();
+        if(directory == null) {
+            return null;
+        }
+        File file = new File(directory, key + EXTENSION);
+        if(!file.isFile()) {
+            return null;
+        }
+        try {
+            String value = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            //the modification time doubles as the time it was last used
+            Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(System.currentTimeMillis()));
+            return value;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void WriteToDisk(String key, String value) {
+        File directory = CacheFolder();
+        if(directory == null) {
+            return;
+        }
+        //the same key always holds the same output, so a write already under way is enough
+        synchronized(disk) {
+            if(!writing.add(key)) {
+                return;
+            }
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        File file = new File(directory, key + EXTENSION);
+        File temporary = new File(directory, key + TEMPORARY_EXTENSION);
+        try {
+            //write to the side and move it in, so a reader never sees half a file
+            Files.write(temporary.toPath(), bytes);
+            synchronized(disk) {
+                long previous = file.isFile() ? file.length() : 0;
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                if(directory.equals(folder)) {
+                    diskSize += bytes.length - previous;
+                    Trim();
+                }
+            }
+        } catch (IOException ex) {
+            temporary.delete();
+            Logger.getLogger(CompilerOutputCache.class.getName()).log(Level.WARNING, null, ex);
+        } finally {
+            synchronized(disk) {
+                writing.remove(key);
+            }
+        }
+    }
+
+    /* deletes the least recently used files until the folder is under its maximum */
+    private void Trim() {
+        if(folder == null || diskSize <= maximumDiskSize) {
+            return;
+        }
+        File[] files = CacheFiles();
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for(int i = 0; i < files.length && diskSize > maximumDiskSize; i++) {
+            long length = files[i].length();
+            if(files[i].delete()) {
+                diskSize -= length;
+            }
+        }
+    }
+
+    private File[] CacheFiles() {
+        File[] files = folder.listFiles((directory, name) -> name.endsWith(EXTENSION));
+        return files == null ? new File[0] : files;
+    }
+
+    private static String Hexadecimal(byte[] bytes) {
+        char[] result = new char[bytes.length * 2];
+        for(int i = 0; i < bytes.length; i++) {
+            result[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+}
@@ -0,0 +1,33 @@
+package plugins.quorum.Libraries.Language.Compile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The native plugin for Libraries.Language.Compile.CompilerProfiler. Every
+ * action here is safe to call from any thread.
+ *
+ * @author Andreas Stefik
+ */
+public class CompilerProfiler {
+    public java.lang.Object me_ = null;
+
+    public double GetTime() {
+        return System.nanoTime() / 1000000.0;
+    }
+
+    public double GetThreadAllocatedBytes() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if(bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException error) {
+            //not every virtual machine has the management extensions
+        }
+        return -1;
+    }
+}
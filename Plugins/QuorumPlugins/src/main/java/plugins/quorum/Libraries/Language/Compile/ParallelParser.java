@@ -0,0 +1,78 @@
+package plugins.quorum.Libraries.Language.Compile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import quorum.Libraries.Containers.Array_;
+import quorum.Libraries.Language.Compile.ParseTask_;
+
+/**
+ * The native plugin for Libraries.Language.Compile.ParallelParser. Each
+ * ParseTask owns its own symbol table, errors and results, so the tasks are
+ * simply run on a fork/join pool and the Quorum side merges them afterward.
+ *
+ * Every compile shares one pool with a thread per processor, so compiles
+ * running at the same time, like those on the compile server, do not each
+ * start threads of their own. A thread count limits how many of a compile's
+ * files are parsed at once, not the size of the pool.
+ *
+ * @author Andreas Stefik
+ */
+public class ParallelParser {
+    public java.lang.Object me_ = null;
+
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+    private static final ForkJoinPool POOL = new ForkJoinPool(PROCESSORS);
+
+    public void ParseNative(Array_ tasks, int threads) {
+        final int size = tasks.GetSize();
+        final ParseTask_[] parsing = new ParseTask_[size];
+        for(int i = 0; i < size; i++) {
+            parsing[i] = (ParseTask_) tasks.Get(i);
+        }
+
+        int workers = threads > 0 ? threads : PROCESSORS;
+        workers = Math.min(workers, size);
+
+        //each worker takes the next file until none are left, and keeps
+        //going past a failure so no file is still being parsed when the
+        //results are merged
+        final AtomicInteger next = new AtomicInteger(0);
+        List<ForkJoinTask<RuntimeException>> running = new ArrayList<>(workers);
+        for(int i = 0; i < workers; i++) {
+            running.add(POOL.submit(new Callable<RuntimeException>() {
+                @Override
+                public RuntimeException call() {
+                    RuntimeException failure = null;
+                    int index = next.getAndIncrement();
+                    while(index < size) {
+                        try {
+                            parsing[index].Run();
+                        } catch (RuntimeException exception) {
+                            if(failure == null) {
+                                failure = exception;
+                            }
+                        }
+                        index = next.getAndIncrement();
+                    }
+                    return failure;
+                }
+            }));
+        }
+
+        RuntimeException failure = null;
+        for(int i = 0; i < running.size(); i++) {
+            RuntimeException workerFailure = running.get(i).join();
+            if(failure == null) {
+                failure = workerFailure;
+            }
+        }
+
+        if(failure != null) {
+            throw failure;
+        }
+    }
+}
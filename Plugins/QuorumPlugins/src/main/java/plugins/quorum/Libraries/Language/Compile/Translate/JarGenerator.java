@@ -5,20 +5,27 @@
  */
 package plugins.quorum.Libraries.Language.Compile.Translate;
 
-import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
 import quorum.Libraries.System.File_;
 
 /**
@@ -30,8 +37,14 @@ public class JarGenerator {
     public java.lang.Object me_ = null;
     private final String ENCODING = "UTF-8";
     //private final String WAR_CLASS_DIRECTORY = "WEB-INF/classes";
-    FileOutputStream stream = null;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CLASS_EXTENSION = ".class";
+    OutputStream stream = null;
     JarOutputStream target = null;
+    ParallelJarWriter parallelTarget = null;
+    private boolean compressed = true;
+    private boolean parallel = true;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
     
     public void Open(quorum.Libraries.System.File_ location) {
@@ -45,8 +58,13 @@ public class JarGenerator {
                 writeLocation.getParentFile().mkdirs();
             }
             
-            stream = new FileOutputStream(writeLocation);
-            target = new JarOutputStream(stream, manifest);
+            stream = new BufferedOutputStream(new FileOutputStream(writeLocation), BUFFER_SIZE);
+            if(parallel) {
+                parallelTarget = new ParallelJarWriter(stream, manifest);
+            } else {
+                target = new JarOutputStream(stream, manifest);
+                target.setLevel(compressionLevel);
+            }
         } catch (FileNotFoundException ex) {
             Logger.getLogger(JarGenerator.class.getName()).log(Level.SEVERE, null, ex);
         } catch (IOException ex) {
@@ -56,7 +74,12 @@ public class JarGenerator {
     
     public void Close() {
         try {
-            target.close();
+            if(parallelTarget != null) {
+                parallelTarget.Finish();
+                parallelTarget = null;
+            } else {
+                target.close();
+            }
         } catch (IOException ex) {
             Logger.getLogger(JarGenerator.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -68,81 +91,144 @@ public class JarGenerator {
     }
     
     public void Add(File_ source) {
-        BufferedInputStream in = null;
+        Add(source, source.GetPath());
+    }
+    
+    public void Add(File_ source, String path) {
+        String name = path.replace("\\", "/");
+        boolean directory = source.IsDirectory();
+        if(directory && !name.endsWith("/")) {
+            name = name + "/";
+        }
+        
         try {
-            String name = source.GetPath().replace("\\", "/");
-            
-            if(source.IsDirectory() && !name.endsWith("/")) {
-                name = name + "/";
+            long time = (long) source.GetLastModifiedNative();
+            if(directory) {
+                Write(name, time, null);
+            } else if(name.endsWith(CLASS_EXTENSION)) {
+                //classes are small, and are read whole so they can be compressed in parallel
+                Write(name, time, Files.readAllBytes(Paths.get(source.GetAbsolutePath())));
+            } else {
+                WriteFile(name, time, Paths.get(source.GetAbsolutePath()));
             }
-            JarEntry entry = new JarEntry(name);
-            entry.setTime((long) source.GetLastModifiedNative());
-            target.putNextEntry(entry);
-            
-            if(!source.IsDirectory()) {
-                File file = new File(source.GetAbsolutePath());
-                in = new BufferedInputStream(new FileInputStream(file));
-
-                byte[] buffer = new byte[1024];
-                while (true) {
-                    int count = in.read(buffer);
-                    if (count == -1) {
-                        break;
-                    }
-                    target.write(buffer, 0, count);
-                }
-            }
-            target.closeEntry();
         } catch (IOException ex) {
             Logger.getLogger(JarGenerator.class.getName()).log(Level.SEVERE, null, ex);
-        } finally {
-            if(in != null) {
-                try {
-                    in.close();
-                } catch (IOException ex) {
-                    Logger.getLogger(JarGenerator.class.getName()).log(Level.SEVERE, null, ex);
-                }
-            }
         }
     }
     
-    public void Add(File_ source, String path) {
-        BufferedInputStream in = null;
+    public void Add(quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter_ writer, String path) {
+        JavaBytecodeClassWriter plugin = (JavaBytecodeClassWriter) 
+                ((quorum.Libraries.Language.Compile.Translate.JavaBytecodeClassWriter) writer).plugin_;
         try {
-            String name = path.replace("\\", "/");
-            
-            if(source.IsDirectory() && !name.endsWith("/")) {
-                name = name + "/";
-            }
-            JarEntry entry = new JarEntry(name);
-            entry.setTime((long) source.GetLastModifiedNative());
-            target.putNextEntry(entry);
-            
-            if(!source.IsDirectory()) {
-                File file = new File(source.GetAbsolutePath());
-                in = new BufferedInputStream(new FileInputStream(file));
-
-                byte[] buffer = new byte[1024];
-                while (true) {
-                    int count = in.read(buffer);
-                    if (count == -1) {
-                        break;
-                    }
-                    target.write(buffer, 0, count);
-                }
-            }
-            target.closeEntry();
+            Write(path.replace("\\", "/"), System.currentTimeMillis(), plugin.toByteArray());
         } catch (IOException ex) {
             Logger.getLogger(JarGenerator.class.getName()).log(Level.SEVERE, null, ex);
-        } finally {
-            if(in != null) {
-                try {
-                    in.close();
-                } catch (IOException ex) {
-                    Logger.getLogger(JarGenerator.class.getName()).log(Level.SEVERE, null, ex);
-                }
+        }
+    }
+    
+    public void SetCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+    
+    public boolean IsCompressed() {
+        return compressed;
+    }
+    
+    public void SetCompressedInParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+    
+    public boolean IsCompressedInParallel() {
+        return parallel;
+    }
+    
+    public void SetCompressionLevel(int level) {
+        if(level < Deflater.BEST_SPEED) {
+            level = Deflater.DEFAULT_COMPRESSION;
+        } else if(level > Deflater.BEST_COMPRESSION) {
+            level = Deflater.BEST_COMPRESSION;
+        }
+        compressionLevel = level;
+        if(target != null) {
+            target.setLevel(level);
+        }
+    }
+    
+    public int GetCompressionLevel() {
+        return compressionLevel;
+    }
+    
+    /**
+     * Writes one entry to the jar. A null value is a directory. Stored 
+     * entries need their size and checksum before they are written, and
+     * entries compressed in parallel are compressed away from the stream,
+     * which is why classes are held in memory first.
+     */
+    private void Write(String name, long time, byte[] bytes) throws IOException {
+        if(parallelTarget != null) {
+            parallelTarget.Add(name, time, bytes, compressed, compressionLevel);
+            return;
+        }
+        JarEntry entry = new JarEntry(name);
+        entry.setTime(time);
+        if(!compressed) {
+            CRC32 crc = new CRC32();
+            int size = 0;
+            if(bytes != null) {
+                crc.update(bytes, 0, bytes.length);
+                size = bytes.length;
             }
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc.getValue());
+        }
+        target.putNextEntry(entry);
+        if(bytes != null) {
+            target.write(bytes, 0, bytes.length);
+        }
+        target.closeEntry();
+    }
+
+    /**
+     * Writes a file to the jar by copying it from disk, so files like
+     * dependency jars are never held in memory. A stored entry needs its size
+     * and checksum before it is written, so the file is read once for them
+     * first.
+     */
+    private void WriteFile(String name, long time, Path file) throws IOException {
+        if(parallelTarget != null) {
+            parallelTarget.Add(name, time, file, compressed, compressionLevel);
+            return;
+        }
+        JarEntry entry = new JarEntry(name);
+        entry.setTime(time);
+        if(!compressed) {
+            CRC32 crc = new CRC32();
+            long size;
+            try (InputStream input = new CheckedInputStream(Files.newInputStream(file), crc)) {
+                size = Skip(input);
+            }
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc.getValue());
+        }
+        target.putNextEntry(entry);
+        Files.copy(file, target);
+        target.closeEntry();
+    }
+
+    /* reads an input to its end, returning how many bytes were in it */
+    private static long Skip(InputStream input) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read = input.read(buffer);
+        while(read != -1) {
+            total += read;
+            read = input.read(buffer);
         }
+        return total;
     }
 
     private Manifest CreateManifest(String total) {
@@ -99,9 +99,8 @@ public class JavaBytecodeClassWriter implements Opcodes{
     public void Write(File_ file) throws quorum.Libraries.Language.Errors.InputOutputError{
         String path = file.GetAbsolutePath();
         java.io.File javaFile = new java.io.File(path);
-        byte[] bites = classWriter.toByteArray();
-        try {
-            FileOutputStream stream = new FileOutputStream(javaFile);
+        byte[] bites = toByteArray();
+        try (FileOutputStream stream = new FileOutputStream(javaFile)) {
             stream.write(bites);
             stream.flush();
         } catch(IOException e) {
@@ -111,5 +110,25 @@ public class JavaBytecodeClassWriter implements Opcodes{
             
         }
     }
-    
+
+    /**
+     * Returns the underlying ASM writer, so that native code can add its own
+     * methods to a class the Quorum side is writing.
+     * 
+     * @return the class writer
+     */
+    public ClassWriter getClassWriter() {
+        return classWriter;
+    }
+
+    /**
+     * Returns the finished class, as it would be written to a class file. 
+     * This is used to place a class straight into a jar, without writing it
+     * to the build folder first.
+     * 
+     * @return the bytes of the class
+     */
+    public byte[] toByteArray() {
+        return classWriter.toByteArray();
+    }
 }
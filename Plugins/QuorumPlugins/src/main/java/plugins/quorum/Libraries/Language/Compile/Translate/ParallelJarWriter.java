@@ -0,0 +1,340 @@
+package plugins.quorum.Libraries.Language.Compile.Translate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a jar whose entries are compressed on several threads at once.
+ * JarOutputStream deflates each entry on the thread that writes it, and
+ * cannot be handed data that is already compressed, so this class writes the
+ * zip format itself. Entries are compressed in the common fork join pool and
+ * written in the order they were added, with their sizes and checksums in
+ * the local headers. Only a limited number of entries wait to be written, so
+ * the jar is never held in memory all at once. Files added by path, like
+ * dependency jars, are streamed from disk on the writing thread instead.
+ *
+ * The ZIP64 extensions are not written, so a jar is limited to 65535 entries
+ * and 4 GB, which is far beyond what a compiled program needs.
+ *
+ * @author Andreas Stefik
+ */
+final class ParallelJarWriter {
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int DATA_DESCRIPTOR = 0x08074b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int VERSION = 20;
+    private static final int UTF8_NAMES = 0x800;
+    private static final int SIZES_AFTER_DATA = 0x8;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int MAXIMUM_ENTRIES = 0xFFFF;
+    private static final long MAXIMUM_OFFSET = 0xFFFFFFFFL;
+    private static final int MAXIMUM_PENDING = 256;
+
+    private final OutputStream out;
+    private final ArrayDeque<CompletableFuture<Entry>> pending = new ArrayDeque<>();
+    private final HashSet<String> names = new HashSet<>();
+    private final ByteArrayOutputStream central = new ByteArrayOutputStream();
+    private long offset = 0;
+    private int count = 0;
+
+    ParallelJarWriter(OutputStream out, Manifest manifest) throws IOException {
+        this.out = out;
+        if (manifest != null) {
+            //the manifest goes first, as JarOutputStream writes it
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            manifest.write(bytes);
+            Add(JarFile.MANIFEST_NAME, System.currentTimeMillis(), bytes.toByteArray(), true, Deflater.DEFAULT_COMPRESSION);
+        }
+    }
+
+    /**
+     * Adds an entry, compressing it in the background if it is compressed.
+     * A null value is a directory.
+     */
+    void Add(final String name, final long time, final byte[] bytes, final boolean compressed, final int level) throws IOException {
+        if (!names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+        if (compressed && bytes != null && bytes.length > 0) {
+            pending.add(CompletableFuture.supplyAsync(() -> Entry.Create(name, time, bytes, true, level), ForkJoinPool.commonPool()));
+        } else {
+            pending.add(CompletableFuture.completedFuture(Entry.Create(name, time, bytes, false, level)));
+        }
+
+        //write what is ready, and wait once too many entries are held
+        while (!pending.isEmpty() && (pending.peek().isDone() || pending.size() > MAXIMUM_PENDING)) {
+            WriteNext();
+        }
+    }
+
+    /**
+     * Adds a file by copying it from disk into the jar as it is written, so
+     * it is never held in memory. The entries added before it are written
+     * first. A compressed file is deflated as it is copied, with its checksum
+     * and sizes written after its data. A stored file is read once for its
+     * checksum, since a stored entry needs it in its header.
+     */
+    void Add(String name, long time, Path file, boolean compressed, int level) throws IOException {
+        if (!names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+        while (!pending.isEmpty()) {
+            WriteNext();
+        }
+
+        long size = Files.size(file);
+        if (size > MAXIMUM_OFFSET) {
+            throw new ZipException("The file " + file + " is too large to be added to a jar.");
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        long dosTime = ToDosTime(time);
+        long start = offset;
+        CountingOutputStream counting = new CountingOutputStream(out);
+        CRC32 crc = new CRC32();
+
+        if (!compressed || size == 0) {
+            Files.copy(file, new CheckedOutputStream(new NullOutputStream(), crc));
+            WriteLocalHeader(bytes, 0, STORED, dosTime, crc.getValue(), size, size);
+            long copied = Files.copy(file, counting);
+            if (copied != size) {
+                throw new ZipException("The file " + file + " changed while it was added to a jar.");
+            }
+            offset += copied;
+            WriteCentralHeader(bytes, 0, STORED, dosTime, crc.getValue(), size, size, start);
+            return;
+        }
+
+        WriteLocalHeader(bytes, SIZES_AFTER_DATA, DEFLATED, dosTime, 0, 0, 0);
+        Deflater deflater = new Deflater(level, true);
+        long copied;
+        try {
+            DeflaterOutputStream deflating = new DeflaterOutputStream(counting, deflater, 8192);
+            copied = Files.copy(file, new CheckedOutputStream(deflating, crc));
+            deflating.finish();
+        } finally {
+            deflater.end();
+        }
+        long compressedSize = counting.count;
+        if (copied > MAXIMUM_OFFSET || compressedSize > MAXIMUM_OFFSET) {
+            throw new ZipException("The file " + file + " is too large to be added to a jar.");
+        }
+        offset += compressedSize;
+
+        ByteArrayOutputStream descriptor = new ByteArrayOutputStream(16);
+        WriteInt(descriptor, DATA_DESCRIPTOR);
+        WriteInt(descriptor, crc.getValue());
+        WriteInt(descriptor, compressedSize);
+        WriteInt(descriptor, copied);
+        descriptor.writeTo(out);
+        offset += descriptor.size();
+        WriteCentralHeader(bytes, SIZES_AFTER_DATA, DEFLATED, dosTime, crc.getValue(), compressedSize, copied, start);
+    }
+
+    /**
+     * Writes every remaining entry and the central directory. The stream is
+     * flushed but not closed.
+     */
+    void Finish() throws IOException {
+        while (!pending.isEmpty()) {
+            WriteNext();
+        }
+        if (count > MAXIMUM_ENTRIES || offset > MAXIMUM_OFFSET) {
+            throw new ZipException("The jar has too many entries, or is too large, to be written in parallel.");
+        }
+        long start = offset;
+        central.writeTo(out);
+        offset += central.size();
+
+        ByteArrayOutputStream end = new ByteArrayOutputStream(22);
+        WriteInt(end, END_OF_CENTRAL_DIRECTORY);
+        WriteShort(end, 0);
+        WriteShort(end, 0);
+        WriteShort(end, count);
+        WriteShort(end, count);
+        WriteInt(end, central.size());
+        WriteInt(end, start);
+        WriteShort(end, 0);
+        end.writeTo(out);
+        out.flush();
+    }
+
+    private void WriteNext() throws IOException {
+        Entry entry;
+        try {
+            entry = pending.poll().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+
+        byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+        long start = offset;
+        WriteLocalHeader(name, 0, entry.method, entry.time, entry.crc, entry.data.length, entry.size);
+        out.write(entry.data);
+        offset += entry.data.length;
+        WriteCentralHeader(name, 0, entry.method, entry.time, entry.crc, entry.data.length, entry.size, start);
+    }
+
+    private void WriteLocalHeader(byte[] name, int flags, int method, long time, long crc, long compressedSize, long size) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream(30 + name.length);
+        WriteInt(header, LOCAL_HEADER);
+        WriteShort(header, VERSION);
+        WriteShort(header, UTF8_NAMES | flags);
+        WriteShort(header, method);
+        WriteInt(header, time);
+        WriteInt(header, crc);
+        WriteInt(header, compressedSize);
+        WriteInt(header, size);
+        WriteShort(header, name.length);
+        WriteShort(header, 0);
+        header.write(name);
+        header.writeTo(out);
+        offset += header.size();
+    }
+
+    private void WriteCentralHeader(byte[] name, int flags, int method, long time, long crc, long compressedSize, long size, long start) throws IOException {
+        WriteInt(central, CENTRAL_HEADER);
+        WriteShort(central, VERSION);
+        WriteShort(central, VERSION);
+        WriteShort(central, UTF8_NAMES | flags);
+        WriteShort(central, method);
+        WriteInt(central, time);
+        WriteInt(central, crc);
+        WriteInt(central, compressedSize);
+        WriteInt(central, size);
+        WriteShort(central, name.length);
+        WriteShort(central, 0);
+        WriteShort(central, 0);
+        WriteShort(central, 0);
+        WriteShort(central, 0);
+        WriteInt(central, 0);
+        WriteInt(central, start);
+        central.write(name);
+        count++;
+    }
+
+    private static void WriteShort(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    private static void WriteInt(ByteArrayOutputStream out, long value) {
+        WriteShort(out, (int) (value & 0xFFFF));
+        WriteShort(out, (int) ((value >>> 16) & 0xFFFF));
+    }
+
+    /* the date and time of an entry in the form zip files keep it, to two seconds */
+    private static long ToDosTime(long time) {
+        LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        if (date.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (date.getYear() - 1980) << 25) | (date.getMonthValue() << 21) | (date.getDayOfMonth() << 16)
+            | (date.getHour() << 11) | (date.getMinute() << 5) | (date.getSecond() >> 1);
+    }
+
+    /* passes bytes through to the jar, counting them, and leaves the jar open when closed */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int value) {
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+        }
+    }
+
+    private static final class Entry {
+        final String name;
+        final long time;
+        final int method;
+        final long crc;
+        final int size;
+        final byte[] data;
+
+        private Entry(String name, long time, int method, long crc, int size, byte[] data) {
+            this.name = name;
+            this.time = time;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+
+        static Entry Create(String name, long time, byte[] bytes, boolean compressed, int level) {
+            if (bytes == null) {
+                bytes = new byte[0];
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            if (!compressed) {
+                return new Entry(name, ToDosTime(time), STORED, crc.getValue(), bytes.length, bytes);
+            }
+
+            //zip entries hold raw deflate data, without the zlib header
+            Deflater deflater = new Deflater(level, true);
+            try {
+                deflater.setInput(bytes);
+                deflater.finish();
+                ByteArrayOutputStream data = new ByteArrayOutputStream(bytes.length / 2 + 64);
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    data.write(buffer, 0, length);
+                }
+                return new Entry(name, ToDosTime(time), DEFLATED, crc.getValue(), bytes.length, data.toByteArray());
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -216,6 +216,96 @@ public class Text {
         return (int) value;
     }
 
+    public int GetCodePoint(int index) {
+        return PrimitiveGetCodePoint(text, index);
+    }
+    
+    public static int PrimitiveGetCodePoint(String self, int index) {
+        if(self == null){
+            throw(new RuntimeException());
+        }
+        return self.codePointAt(index);
+    }
+    
+    public int ScanWhile(String characters, int index) {
+        return PrimitiveScanWhile(text, characters, index);
+    }
+    
+    public static int PrimitiveScanWhile(String self, String characters, int index) {
+        if(self == null){
+            throw(new RuntimeException());
+        }
+        return Scan(self, characters, index, true);
+    }
+    
+    public int IndexOfAny(String characters, int index) {
+        return PrimitiveIndexOfAny(text, characters, index);
+    }
+    
+    public static int PrimitiveIndexOfAny(String self, String characters, int index) {
+        if(self == null){
+            throw(new RuntimeException());
+        }
+        return Scan(self, characters, index, false);
+    }
+    
+    public boolean StartsWith(String prefix, int index) {
+        return PrimitiveStartsWith(text, prefix, index);
+    }
+    
+    public static boolean PrimitiveStartsWith(String self, String prefix, int index) {
+        if(self == null){
+            throw(new RuntimeException());
+        }
+        return self.startsWith(prefix, index);
+    }
+    
+    /**
+     * Moves forward from index while each character is (or is not) one of the
+     * characters. ASCII characters are checked against a bit mask held in two
+     * longs, so lexers can call this for every token without creating garbage.
+     * 
+     * @param self the text to scan
+     * @param characters the set of characters
+     * @param index where to start
+     * @param whileInSet true to stop at the first character outside the set,
+     * false to stop at the first character inside it
+     * @return the stopping index, or the length (when scanning while in the
+     * set) or -1 (otherwise) if the end is reached
+     */
+    private static int Scan(String self, String characters, int index, boolean whileInSet) {
+        long low = 0;
+        long high = 0;
+        boolean hasOther = false;
+        for(int i = 0; i < characters.length(); i++) {
+            char c = characters.charAt(i);
+            if(c < 64) {
+                low |= 1L << c;
+            } else if(c < 128) {
+                high |= 1L << (c - 64);
+            } else {
+                hasOther = true;
+            }
+        }
+        
+        int length = self.length();
+        for(int i = index < 0 ? 0 : index; i < length; i++) {
+            char c = self.charAt(i);
+            boolean found;
+            if(c < 64) {
+                found = (low & (1L << c)) != 0;
+            } else if(c < 128) {
+                found = (high & (1L << (c - 64))) != 0;
+            } else {
+                found = hasOther && characters.indexOf(c) >= 0;
+            }
+            if(found != whileInSet) {
+                return i;
+            }
+        }
+        return whileInSet ? length : -1;
+    }
+
     /**
      * If the value is valid, return its hashcode. Otherwise, return the 
      * generic hash for the object.
@@ -1,216 +1,345 @@
 package plugins.quorum.Libraries.Network;
 
-import java.io.BufferedReader;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.URL;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.net.URLConnection;
-import javax.net.ssl.HttpsURLConnection;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
+import javax.net.ssl.HttpsURLConnection;
 import quorum.Libraries.Language.Errors.InputOutputError;
 import quorum.Libraries.Network.NetworkRequest_;
 import quorum.Libraries.Network.NetworkResponseEvent_;
-import quorum.Libraries.System.File_;
 
 /**
+ * Sends the requests of a Libraries.Network.NetworkConnection.
+ *
+ * Connections are never disconnected, and every response is read to its end
+ * and closed, so the JDK keeps the socket alive and the next request to the
+ * same host reuses it instead of connecting (and for HTTPS, handshaking)
+ * again. Requests to one host are limited to MAXIMUM_PER_HOST at a time, the
+ * number of idle sockets the JDK keeps per host, so every one of them can be
+ * kept.
+ *
+ * A body is read as bytes, which are kept on the response alongside the text
+ * they decode to.
+ *
+ * Asynchronous requests are queued by host. Each host has its own pool of
+ * at most MAXIMUM_PER_HOST daemon threads, which stop after a while with
+ * nothing to do, so a burst of requests waits in its host's queue rather
+ * than starting a thread for each request. Everything the request holds is
+ * copied before it is queued, so it can be changed or reused right away, and
+ * listeners are notified one response at a time.
  *
  * @author Patrick Daleiden
  */
 public class NetworkConnection {
 
     public java.lang.Object me_ = null;
-    private quorum.Libraries.Network.NetworkConnection connection = null; 
+    private quorum.Libraries.Network.NetworkConnection connection = null;
+
+    static final int MAXIMUM_PER_HOST = 5;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_SECONDS = 30;
+
+    private static final Map<String, Semaphore> HOSTS = new ConcurrentHashMap<>();
+    private static final Map<String, ExecutorService> DISPATCH = new ConcurrentHashMap<>();
+
+    /* asynchronous requests still running, and the first error any of them had */
+    private int pending = 0;
+    private InputOutputError failure = null;
 
     public void Request() throws InputOutputError {
         connection = (quorum.Libraries.Network.NetworkConnection) me_;
-        NetworkRequest_ request = connection.GetNetworkRequest();
-        if (request.GetRequestType().equals("POST")) {
-            Post(request);
-        } else if (request.GetRequestType().equals("GET")) {
-            Get(request);
-        } else if (request.GetRequestType().equals("HEAD")) {
-            Head(request);
-        } else if (request.GetRequestType().equals("PATCH")) {
-            Patch(request);
-        } else if (request.GetRequestType().equals("DELETE")) {
-            Delete(request);
-        } else if (request.GetRequestType().equals("PUT")) {
-            Put(request);
-        }
-    }
-    
-    private void Post(NetworkRequest_ request) throws InputOutputError {
-        try {
-            URL Url = new URL(request.GetWebAddress());
-            HttpURLConnection conn;
-            
-            URLConnection urlConnection = Url.openConnection();
-            if (urlConnection instanceof HttpsURLConnection) {
-                HttpsURLConnection https = (HttpsURLConnection) urlConnection;
-                System.setProperty("jsse.enableSNIExtension", String.valueOf(connection.GetServerNameIdentification()));
-                conn = (HttpURLConnection) https;
-            } else {
-                conn = (HttpURLConnection) urlConnection;
+        Outgoing outgoing = Prepare(connection.GetNetworkRequest());
+        if (outgoing != null) {
+            Send(outgoing);
+        }
+    }
+
+    public void RequestAsynchronously(NetworkRequest_ request) throws InputOutputError {
+        connection = (quorum.Libraries.Network.NetworkConnection) me_;
+        Outgoing outgoing = Prepare(request);
+        if (outgoing == null) {
+            return;
+        }
+
+        synchronized (this) {
+            pending++;
+        }
+        Dispatcher(outgoing.address).execute(() -> {
+            try {
+                Send(outgoing);
+            } catch (InputOutputError ex) {
+                Failed(ex);
+            } catch (RuntimeException ex) {
+                Failed(NewError(ex.toString()));
+            } finally {
+                synchronized (this) {
+                    pending--;
+                    notifyAll();
+                }
             }
-            conn.setRequestMethod(request.GetRequestType());
-            conn.setReadTimeout(request.GetReadTimeout());
-            String body = request.GetBody();
-            if (request.IsFixedLengthStreamingMode()) {
-                conn.setFixedLengthStreamingMode(body.getBytes().length);
-            } else {
-            // Note: the HttpURLConnection object handles the mode. Removed for now, but kept here for future reference.
-            //     conn.setChunkedStreamingMode(connection.GetChunkLength());
+        });
+    }
+
+    public void WaitForRequests() throws InputOutputError {
+        synchronized (this) {
+            while (pending > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw NewError("Interrupted while waiting for network requests.");
+                }
+            }
+            if (failure != null) {
+                InputOutputError error = failure;
+                failure = null;
+                throw error;
             }
-            request.ResetHeaderIterator();
-            while (request.HasNextHeader()) {
-                String key = request.GetNextHeaderKey();
-                String value = request.GetHeaderValue(key);
-                conn.setRequestProperty(key, value);
+        }
+    }
+
+    private synchronized void Failed(InputOutputError error) {
+        if (failure == null) {
+            failure = error;
+        }
+    }
+
+    /*
+     * Copies what is needed from the request. PATCH is not a method
+     * HttpURLConnection can send, so those requests are ignored as before.
+     */
+    private Outgoing Prepare(NetworkRequest_ request) {
+        String type = request.GetRequestType();
+        if (!(type.equals("POST") || type.equals("GET") || type.equals("HEAD")
+                || type.equals("DELETE") || type.equals("PUT"))) {
+            return null;
+        }
+
+        Outgoing outgoing = new Outgoing();
+        outgoing.method = type;
+        outgoing.address = request.GetWebAddress();
+        //GET sends its parameters in the address rather than a body
+        if (type.equals("GET")) {
+            String parameters = request.GetParameters();
+            if (parameters != null && !parameters.isEmpty()) {
+                outgoing.address = outgoing.address + "?" + parameters;
             }
-            conn.setDoInput(request.GetDoInput());
-            conn.setDoOutput(request.GetDoOutput());
-            conn.connect();
-            
-            try(DataOutputStream os = new DataOutputStream(conn.getOutputStream())) {
-                os.writeBytes(body);
-                os.flush();
-                os.close();
+        } else if (type.equals("POST") || type.equals("PUT")) {
+            String body = request.GetBody();
+            outgoing.body = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        }
+        outgoing.fixedLength = request.IsFixedLengthStreamingMode();
+        outgoing.readTimeout = request.GetReadTimeout();
+        outgoing.connectTimeout = request.GetConnectTimeout();
+        outgoing.serverName = connection.GetServerNameIdentification();
+        if (request.GetDownloadFile() != null) {
+            outgoing.download = new File(request.GetDownloadFile().GetAbsolutePath());
+            outgoing.downloadName = request.GetDownloadFile().toString();
+        }
+
+        request.ResetHeaderIterator();
+        while (request.HasNextHeader()) {
+            String key = request.GetNextHeaderKey();
+            outgoing.headers.put(key, request.GetHeaderValue(key));
+        }
+        return outgoing;
+    }
+
+    private void Send(Outgoing outgoing) throws InputOutputError {
+        try {
+            URL url = new URL(outgoing.address);
+            Semaphore gate = Gate(url);
+            try {
+                gate.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw NewError("Interrupted while waiting to connect to " + url.getHost() + ".");
             }
-            
-            if (request.GetDownloadFile() != null){
-                InputStream in = conn.getInputStream();
-                File_ quorumFile = request.GetDownloadFile();
-                File file = new File(quorumFile.GetAbsolutePath());
-                FileOutputStream out = new FileOutputStream(file);
- 
-                int contentLength = conn.getContentLength();
-                int totalSoFar = 0;
-                int bytesRead = -1;
-                byte[] buffer = new byte[4096];
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    out.write(buffer, 0, bytesRead);
-                    totalSoFar += bytesRead;
-                    SetDownloadProgress(contentLength, totalSoFar);
-                }
-                in.close();
-                out.close();
-                SetResponses(conn, request.GetDownloadFile() + " downloaded.");
-            } else {
-                DataInputStream is = new DataInputStream(conn.getInputStream());
-                BufferedReader in = null;
-                if ("gzip".equals(conn.getContentEncoding())) {
-                    in = new BufferedReader(new InputStreamReader(new GZIPInputStream(conn.getInputStream())));
-                } else {
-                    in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-                }
-                String line;
-                StringBuffer responseText = new StringBuffer();
-                while ((line = in.readLine()) != null) {
-                    responseText.append(line + "\r\n");
-                }
-                in.close();
-                SetResponses(conn, responseText.toString());
+            try {
+                Exchange(url, outgoing);
+            } finally {
+                gate.release();
             }
-            conn.disconnect();
-        } catch (IOException ex)
-        {
+        } catch (IOException ex) {
             InputOutputError e = new InputOutputError();
             if (ex.getMessage() != null)
                 e.SetErrorMessage(ex.getMessage());
             throw e;
         }
     }
-    
-    private void Get(NetworkRequest_ request) throws InputOutputError {
-        // Note: Get Request does not send body. Parameters are attached to the URL.
-        try {
-            String url = request.GetWebAddress() + "?" + request.GetParameters();
-            URL Url = new URL(url);
-            HttpURLConnection conn;
-            
-            URLConnection urlConnection = Url.openConnection();
-            if (urlConnection instanceof HttpsURLConnection) {
-                HttpsURLConnection https = (HttpsURLConnection) urlConnection;
-                System.setProperty("jsse.enableSNIExtension", String.valueOf(connection.GetServerNameIdentification()));
-                conn = (HttpURLConnection) https;
-            } else {
-                conn = (HttpURLConnection) urlConnection;
+
+    private void Exchange(URL url, Outgoing outgoing) throws IOException, InputOutputError {
+        URLConnection urlConnection = url.openConnection();
+        if (urlConnection instanceof HttpsURLConnection && !outgoing.serverName) {
+            DisableServerName();
+        }
+        HttpURLConnection conn = (HttpURLConnection) urlConnection;
+        conn.setRequestMethod(outgoing.method);
+        conn.setReadTimeout(outgoing.readTimeout);
+        conn.setConnectTimeout(outgoing.connectTimeout);
+        for (Map.Entry<String, String> header : outgoing.headers.entrySet()) {
+            conn.setRequestProperty(header.getKey(), header.getValue());
+        }
+
+        if (outgoing.body != null) {
+            conn.setDoOutput(true);
+            if (outgoing.fixedLength) {
+                conn.setFixedLengthStreamingMode(outgoing.body.length);
+            }
+            try (OutputStream os = conn.getOutputStream()) {
+                os.write(outgoing.body);
             }
-            conn.setRequestMethod(request.GetRequestType());
-            conn.setReadTimeout(request.GetReadTimeout());
-            request.ResetHeaderIterator();
-            while (request.HasNextHeader()) {
-                String key = request.GetNextHeaderKey();
-                String value = request.GetHeaderValue(key);
-                conn.setRequestProperty(key, value);
+        }
+
+        int status = conn.getResponseCode();
+        if (status >= 400) {
+            //read the error to its end too, so the connection can still be reused
+            InputStream error = conn.getErrorStream();
+            if (error != null) {
+                try (InputStream in = error) {
+                    Drain(in);
+                }
             }
-            conn.setDoOutput(request.GetDoOutput());
-            conn.connect();
-            
-            if (request.GetDownloadFile() != null){
-                InputStream in = conn.getInputStream();
-                File file = new File(request.GetDownloadFile().GetAbsolutePath());
-                FileOutputStream out = new FileOutputStream(file);
+            throw new IOException("Server returned HTTP response code: " + status + " for URL: " + url);
+        }
+
+        try (InputStream in = Decoded(conn)) {
+            if (outgoing.download != null) {
                 int contentLength = conn.getContentLength();
-                int totalSoFar = 0;
-                int bytesRead = -1;
-                byte[] buffer = new byte[4096];
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    out.write(buffer, 0, bytesRead);
-                    totalSoFar += bytesRead;
-                    SetDownloadProgress(contentLength, totalSoFar);
+                try (FileOutputStream out = new FileOutputStream(outgoing.download)) {
+                    int totalSoFar = 0;
+                    int bytesRead;
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while ((bytesRead = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, bytesRead);
+                        totalSoFar += bytesRead;
+                        SetDownloadProgress(contentLength, totalSoFar);
+                    }
                 }
-                in.close();
-                out.close();
-                SetResponses(conn, request.GetDownloadFile() + " downloaded.");
+                SetResponses(conn, outgoing.downloadName + " downloaded.", null);
             } else {
-                DataInputStream is = new DataInputStream(conn.getInputStream());
-                BufferedReader in = null;
-                if ("gzip".equals(conn.getContentEncoding())) {
-                    in = new BufferedReader(new InputStreamReader(new GZIPInputStream(conn.getInputStream())));
-                } else {
-                    in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
+                int contentLength = conn.getContentLength();
+                ByteArrayOutputStream body = new ByteArrayOutputStream(contentLength > 0 ? contentLength : BUFFER_SIZE / 8);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    body.write(buffer, 0, bytesRead);
                 }
-                String line;
-                StringBuffer responseText = new StringBuffer();
-                while ((line = in.readLine()) != null) {
-                    responseText.append(line + "\r\n");
+                byte[] bytes = body.toByteArray();
+                SetResponses(conn, new String(bytes, CharsetOf(conn.getContentType())), bytes);
+            }
+        }
+    }
+
+    private static InputStream Decoded(HttpURLConnection conn) throws IOException {
+        InputStream in = conn.getInputStream();
+        if ("gzip".equals(conn.getContentEncoding())) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return in;
+    }
+
+    private static void Drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (in.read(buffer) != -1) {
+        }
+    }
+
+    /* the charset named in the content type, or UTF-8 if there is none the JVM knows */
+    static Charset CharsetOf(String contentType) {
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                part = part.trim();
+                if (part.regionMatches(true, 0, "charset=", 0, 8)) {
+                    String name = part.substring(8).trim().replace("\"", "");
+                    try {
+                        return java.nio.charset.Charset.forName(name);
+                    } catch (IllegalArgumentException ex) {
+                        break;
+                    }
                 }
-                in.close();
-                SetResponses(conn, responseText.toString());
             }
-            conn.disconnect();
-        } catch (IOException ex)
-        {
-            InputOutputError e = new InputOutputError();
-            if (ex.getMessage() != null)
-                e.SetErrorMessage(ex.getMessage());
-            throw e;
         }
+        return StandardCharsets.UTF_8;
     }
-    
-    private void Head(NetworkRequest_ request) {}
-    
-    private void Patch(NetworkRequest_ request) {}
-    
-    private void Delete(NetworkRequest_ request) {}
-    
-    private void Put(NetworkRequest_ request) {}
-    
-    private void SetDownloadProgress(int length, int read) {
-        connection.SetDownloadProgress(length, read);
+
+    private static String Host(URL url) {
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return url.getProtocol() + "://" + url.getHost().toLowerCase() + ":" + port;
     }
-    private void SetResponses(HttpURLConnection conn, String responseText) throws InputOutputError {
+
+    private static Semaphore Gate(URL url) {
+        return HOSTS.computeIfAbsent(Host(url), key -> new Semaphore(MAXIMUM_PER_HOST, true));
+    }
+
+    /*
+     * The queue asynchronous requests to an address wait in. An address that
+     * is not a URL still gets one, so the request fails like any other.
+     */
+    private static ExecutorService Dispatcher(String address) {
+        String host;
         try {
+            host = Host(new URL(address));
+        } catch (MalformedURLException ex) {
+            host = "";
+        }
+        return DISPATCH.computeIfAbsent(host, key -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAXIMUM_PER_HOST, MAXIMUM_PER_HOST,
+                IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "Quorum Network Request");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    /*
+     * HttpsURLConnection adds the host name to every socket it opens, so the
+     * extension can only be turned off for the whole program, and only before
+     * the first secure connection is made. The property is set once, rather
+     * than on every request.
+     */
+    private static void DisableServerName() {
+        if (!"false".equals(System.getProperty("jsse.enableSNIExtension"))) {
+            System.setProperty("jsse.enableSNIExtension", "false");
+        }
+    }
+
+    private static InputOutputError NewError(String message) {
+        InputOutputError e = new InputOutputError();
+        e.SetErrorMessage(message);
+        return e;
+    }
+
+    private void SetDownloadProgress(int length, int read) {
+        synchronized (connection) {
+            connection.SetDownloadProgress(length, read);
+        }
+    }
+
+    private void SetResponses(HttpURLConnection conn, String responseText, byte[] responseBytes) throws IOException {
+        synchronized (connection) {
             NetworkResponseEvent_ response = connection.GetNewResponseEvent();
             response.SetWebAddress(conn.getURL().toString());
             response.SetStatusCode(conn.getResponseCode());
@@ -234,14 +363,25 @@ public class NetworkConnection {
                 }
             }
             response.SetResponseText(responseText);
+            if (responseBytes != null) {
+                quorum.Libraries.Containers.ByteArray array = new quorum.Libraries.Containers.ByteArray();
+                array.plugin_.setBytes(responseBytes);
+                response.SetResponseBytes(array);
+            }
             connection.SetResponse(response);
-        } catch (IOException ex)
-        {
-            InputOutputError e = new InputOutputError();
-            if (ex.getMessage() != null)
-                e.SetErrorMessage(ex.getMessage());
-            throw e;
         }
     }
-    
+
+    private static final class Outgoing {
+        String method;
+        String address;
+        byte[] body = null;
+        boolean fixedLength = false;
+        int readTimeout = 0;
+        int connectTimeout = 0;
+        boolean serverName = true;
+        File download = null;
+        String downloadName = null;
+        final Map<String, String> headers = new LinkedHashMap<>();
+    }
 }
@@ -5,25 +5,48 @@
  */
 package plugins.quorum.Libraries.Network;
 
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
-import java.io.ByteArrayInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import quorum.Libraries.Containers.ByteArray_;
 import quorum.Libraries.Containers.HashTable;
 import quorum.Libraries.Containers.HashTable_;
 import quorum.Libraries.Language.Types.Text;
+import quorum.Libraries.System.File_;
 
 /**
+ * The native side of Libraries.Network.NetworkExchange.
+ *
+ * Text is encoded once. SendResponseHeaders keeps the bytes it measured, so
+ * the SendResponse that follows writes them as they are. A ByteArray is
+ * written straight from its array, and a File is copied to the response with
+ * FileChannel.transferTo, so it is never read into memory as a whole.
+ *
+ * If compression is turned on and the client accepts it, responses are sent
+ * gzip encoded. Calling SendResponseHeaders without a response sends the body
+ * in chunks, so generated output can be written with WriteResponse as it is
+ * made and finished with SendResponse.
  *
  * @author stefika
  */
@@ -32,28 +55,196 @@ public class NetworkExchange {
     private String ENCODING = "UTF-8";
     private HttpExchange exchange;
     private URI uri;
+
+    /* responses smaller than this are not worth compressing */
+    private static final int MINIMUM_COMPRESSED_SIZE = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /* the last response measured by SendResponseHeaders, and the bytes it will send */
+    private Object measured = null;
+    private byte[] encoded = null;
+
+    private boolean compression = false;
+    private boolean compressing = false;
+    private OutputStream stream = null;
         
+    public void SetResponseHeader(String name, String value) {
+        exchange.getResponseHeaders().set(name, value);
+    }
+
+    public void SetCompression(boolean value) {
+        compression = value;
+    }
+
+    public boolean GetCompression() {
+        return compression;
+    }
+    
     public void SendResponseHeaders(int code, String response) throws IOException {
-        String resp2 = new String(response.getBytes(), ENCODING);
-        exchange.sendResponseHeaders(code, resp2.getBytes().length);
+        if(response == null) {
+            response = "";
+        }
+        Measure(response, response.getBytes(ENCODING));
+        exchange.sendResponseHeaders(code, encoded.length);
+    }
+
+    public void SendResponseHeaders(int code, ByteArray_ response) throws IOException {
+        Measure(response, Bytes(response));
+        exchange.sendResponseHeaders(code, encoded.length);
+    }
+
+    public void SendResponseHeaders(int code, File_ response) throws IOException {
+        long length = Files.size(Paths.get(response.GetAbsolutePath()));
+        compressing = AcceptsCompression(length);
+        //the compressed length is not known until it has been sent, so it goes in chunks
+        exchange.sendResponseHeaders(code, compressing ? 0 : length);
+    }
+
+    /* sends the headers for a response whose length is not known, which goes in chunks */
+    public void SendResponseHeaders(int code) throws IOException {
+        compressing = AcceptsCompression(Long.MAX_VALUE);
+        exchange.sendResponseHeaders(code, 0);
     }
     
     public void SendResponse(String response) throws IOException {
-        response = new String(response.getBytes(), ENCODING);
-        OutputStream body = exchange.getResponseBody();
-        BufferedOutputStream out = new BufferedOutputStream(body);
         if(response == null) {
             response = "";
         }
-        ByteArrayInputStream byteResponseStream = new ByteArrayInputStream(response.getBytes(ENCODING));
+        if(stream != null) {
+            WriteResponse(response);
+            Finish();
+            return;
+        }
+        byte[] bytes = response.equals(measured) ? encoded : Compress(response.getBytes(ENCODING));
+        Send(bytes);
+    }
 
-        byte [] buffer = new byte [1024];
-        int count = 0;
-        while ((count = byteResponseStream.read(buffer)) != -1) {
-            out.write(buffer, 0, count);
+    public void SendResponse(ByteArray_ response) throws IOException {
+        byte[] bytes = Bytes(response);
+        if(stream != null) {
+            Body().write(bytes);
+            Finish();
+            return;
         }
+        Send(response == measured ? encoded : Compress(bytes));
+    }
+
+    public void SendResponse(File_ response) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(response.GetAbsolutePath()), StandardOpenOption.READ)) {
+            if(compressing || stream != null) {
+                OutputStream out = Body();
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (channel.read(buffer) != -1) {
+                    out.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                Finish();
+                return;
+            }
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                long size = channel.size();
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        }
+    }
+
+    /* writes part of a response sent in chunks, leaving it open for more */
+    public void WriteResponse(String response) throws IOException {
+        if(response != null && !response.isEmpty()) {
+            Body().write(response.getBytes(ENCODING));
+        }
+    }
+
+    private void Measure(Object response, byte[] bytes) {
+        compressing = AcceptsCompression(bytes.length);
+        measured = response;
+        encoded = Compress(bytes);
+    }
+
+    private void Send(byte[] bytes) throws IOException {
+        measured = null;
+        encoded = null;
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /* the response body, opened for writing a piece at a time */
+    private OutputStream Body() throws IOException {
+        if(stream == null) {
+            stream = compressing
+                ? new GZIPOutputStream(exchange.getResponseBody(), BUFFER_SIZE)
+                : new BufferedOutputStream(exchange.getResponseBody(), BUFFER_SIZE);
+        }
+        return stream;
+    }
+
+    private void Finish() throws IOException {
+        OutputStream out = stream;
+        stream = null;
         out.close();
     }
+
+    private byte[] Compress(byte[] bytes) {
+        if(!compressing) {
+            return bytes;
+        }
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            }
+            return compressed.toByteArray();
+        } catch (IOException ex) {
+            //writing to memory does not fail
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /*
+     * Whether a response of the given length should be compressed, marking
+     * the response headers if so. It must be called before the headers are
+     * sent.
+     */
+    private boolean AcceptsCompression(long length) {
+        if(!compression || length < MINIMUM_COMPRESSED_SIZE) {
+            return false;
+        }
+        if(!AcceptsGzip(exchange.getRequestHeaders())) {
+            return false;
+        }
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+        return true;
+    }
+
+    /* whether the Accept-Encoding of a request allows gzip */
+    static boolean AcceptsGzip(Headers request) {
+        List<String> accepted = request.get("Accept-Encoding");
+        if(accepted == null) {
+            return false;
+        }
+        for(String header : accepted) {
+            for(String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if(parts[0].trim().equalsIgnoreCase("gzip")
+                        && !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] Bytes(ByteArray_ array) {
+        byte[] bytes = ((quorum.Libraries.Containers.ByteArray) array).plugin_.getBytes();
+        return bytes == null ? new byte[0] : bytes;
+    }
     
     public HashTable_ GetParameters() throws UnsupportedEncodingException, IOException {
         HashTable table = new HashTable();
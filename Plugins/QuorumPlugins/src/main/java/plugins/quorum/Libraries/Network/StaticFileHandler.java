@@ -0,0 +1,360 @@
+package plugins.quorum.Libraries.Network;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Answers requests for the files in a folder, added to a WebServer with
+ * AddFolder.
+ *
+ * Files are kept in a cache shared by every folder on the server, holding at
+ * most a set number of bytes and dropping the least recently used file when
+ * it is full. Text files are also kept gzip compressed, once, for clients
+ * that accept it. Cached files are read through a channel into the cache, while
+ * a file too large to cache is memory mapped and written to the client from
+ * the mapping.
+ *
+ * Every response carries an ETag and Last-Modified, built from the size and
+ * modification time of the file, and asks the browser to check back before
+ * reusing its copy. A request whose If-None-Match or If-Modified-Since shows
+ * the browser already has the file is answered with 304 and no body. The file
+ * is checked on every request, so a cached copy is reloaded once the file
+ * changes.
+ *
+ * @author Andreas Stefik
+ */
+final class StaticFileHandler implements HttpHandler {
+    private static final Map<String, String> TYPES = new HashMap<>();
+    static {
+        TYPES.put("html", "text/html; charset=utf-8");
+        TYPES.put("htm", "text/html; charset=utf-8");
+        TYPES.put("js", "application/javascript; charset=utf-8");
+        TYPES.put("mjs", "application/javascript; charset=utf-8");
+        TYPES.put("css", "text/css; charset=utf-8");
+        TYPES.put("json", "application/json; charset=utf-8");
+        TYPES.put("map", "application/json; charset=utf-8");
+        TYPES.put("txt", "text/plain; charset=utf-8");
+        TYPES.put("xml", "application/xml; charset=utf-8");
+        TYPES.put("svg", "image/svg+xml");
+        TYPES.put("wasm", "application/wasm");
+        TYPES.put("png", "image/png");
+        TYPES.put("jpg", "image/jpeg");
+        TYPES.put("jpeg", "image/jpeg");
+        TYPES.put("gif", "image/gif");
+        TYPES.put("ico", "image/x-icon");
+        TYPES.put("webp", "image/webp");
+        TYPES.put("woff", "font/woff");
+        TYPES.put("woff2", "font/woff2");
+        TYPES.put("ttf", "font/ttf");
+        TYPES.put("otf", "font/otf");
+        TYPES.put("pdf", "application/pdf");
+        TYPES.put("mp3", "audio/mpeg");
+        TYPES.put("wav", "audio/wav");
+        TYPES.put("ogg", "audio/ogg");
+        TYPES.put("mp4", "video/mp4");
+    }
+    private static final String DEFAULT_TYPE = "application/octet-stream";
+    private static final String INDEX = "index.html";
+
+    private final String context;
+    private final Path root;
+    private final FileCache cache;
+
+    StaticFileHandler(String context, Path root, FileCache cache) {
+        this.context = context.endsWith("/") ? context : context + "/";
+        this.root = root.toAbsolutePath().normalize();
+        this.cache = cache;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            boolean head = method.equals("HEAD");
+            if (!head && !method.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            Path path = Resolve(exchange.getRequestURI().getRawPath());
+            BasicFileAttributes attributes = null;
+            if (path != null) {
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isDirectory()) {
+                        path = path.resolve(INDEX);
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    }
+                } catch (IOException ex) {
+                    attributes = null;
+                }
+            }
+            if (attributes == null || !attributes.isRegularFile()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            String tag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(modified) + "\"";
+            String type = TypeOf(path);
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", tag);
+            headers.set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(modified), ZoneOffset.UTC)));
+            headers.set("Cache-Control", "no-cache");
+            headers.set("Content-Type", type);
+
+            if (NotModified(exchange.getRequestHeaders(), tag, modified)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            CachedFile file = cache.Get(path, size, modified, IsCompressible(type));
+            if (file == null) {
+                SendMapped(exchange, path, size, head);
+                return;
+            }
+
+            byte[] body = file.bytes;
+            if (file.compressed != null) {
+                headers.add("Vary", "Accept-Encoding");
+                if (NetworkExchange.AcceptsGzip(exchange.getRequestHeaders())) {
+                    headers.set("Content-Encoding", "gzip");
+                    body = file.compressed;
+                }
+            }
+            if (head) {
+                headers.set("Content-Length", Long.toString(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /* the file a request path names, or null if it is outside the folder */
+    private Path Resolve(String rawPath) {
+        if (!rawPath.startsWith(context) && !(rawPath + "/").equals(context)) {
+            return null;
+        }
+        String relative = rawPath.length() > context.length() ? rawPath.substring(context.length()) : "";
+        try {
+            //decode percent escapes only, since a plus is a plus in a path
+            relative = URLDecoder.decode(relative.replace("+", "%2B"), StandardCharsets.UTF_8.name());
+            Path path = root.resolve(relative).normalize();
+            return path.startsWith(root) ? path : null;
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static boolean NotModified(Headers request, String tag, long modified) {
+        List<String> matches = request.get("If-None-Match");
+        if (matches != null) {
+            for (String header : matches) {
+                for (String candidate : header.split(",")) {
+                    candidate = candidate.trim();
+                    if (candidate.startsWith("W/")) {
+                        candidate = candidate.substring(2);
+                    }
+                    if (candidate.equals(tag) || candidate.equals("*")) {
+                        return true;
+                    }
+                }
+            }
+            //If-Modified-Since is ignored when If-None-Match is sent
+            return false;
+        }
+
+        String since = request.getFirst("If-Modified-Since");
+        if (since != null) {
+            try {
+                long time = ZonedDateTime.parse(since, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                //the header only has whole seconds
+                return modified / 1000 <= time / 1000;
+            } catch (DateTimeParseException ex) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void SendMapped(HttpExchange exchange, Path path, long size, boolean head) throws IOException {
+        if (head) {
+            exchange.getResponseHeaders().set("Content-Length", Long.toString(size));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            exchange.sendResponseHeaders(200, size == 0 ? -1 : size);
+            try (OutputStream out = exchange.getResponseBody()) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < size) {
+                    long length = Math.min(Integer.MAX_VALUE, size - position);
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    while (mapped.hasRemaining()) {
+                        target.write(mapped);
+                    }
+                    position += length;
+                }
+            }
+        }
+    }
+
+    private static String TypeOf(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            String type = TYPES.get(name.substring(dot + 1).toLowerCase());
+            if (type != null) {
+                return type;
+            }
+        }
+        try {
+            String type = Files.probeContentType(path);
+            if (type != null) {
+                return type;
+            }
+        } catch (IOException ex) {
+            //fall back on the default
+        }
+        return DEFAULT_TYPE;
+    }
+
+    private static boolean IsCompressible(String type) {
+        return type.startsWith("text/") || type.startsWith("application/javascript")
+            || type.startsWith("application/json") || type.startsWith("application/xml")
+            || type.startsWith("image/svg") || type.startsWith("application/wasm");
+    }
+
+    static final class CachedFile {
+        final long size;
+        final long modified;
+        final byte[] bytes;
+        final byte[] compressed;
+
+        CachedFile(long size, long modified, byte[] bytes, byte[] compressed) {
+            this.size = size;
+            this.modified = modified;
+            this.bytes = bytes;
+            this.compressed = compressed;
+        }
+
+        long GetCost() {
+            return bytes.length + (compressed == null ? 0 : compressed.length);
+        }
+    }
+
+    /**
+     * The least recently used cache of files shared by the folders of one
+     * WebServer, bounded by the bytes it holds. A file larger than a quarter
+     * of the cache is never kept, so one large file cannot empty it.
+     */
+    static final class FileCache {
+        private final long capacity;
+        private long used = 0;
+        private final LinkedHashMap<Path, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+
+        FileCache(long capacity) {
+            this.capacity = capacity;
+        }
+
+        /*
+         * Returns the file, loading it if it is missing or has changed, or
+         * null if it is too large to cache.
+         */
+        CachedFile Get(Path path, long size, long modified, boolean compressible) throws IOException {
+            if (size > capacity / 4) {
+                return null;
+            }
+            synchronized (this) {
+                CachedFile file = files.get(path);
+                if (file != null && file.size == size && file.modified == modified) {
+                    return file;
+                }
+            }
+
+            //load outside the lock, so other files are still served meanwhile
+            CachedFile file = Load(path, size, modified, compressible);
+            synchronized (this) {
+                CachedFile old = files.put(path, file);
+                if (old != null) {
+                    used -= old.GetCost();
+                }
+                used += file.GetCost();
+                Iterator<CachedFile> iterator = files.values().iterator();
+                while (used > capacity && iterator.hasNext()) {
+                    CachedFile eldest = iterator.next();
+                    if (eldest == file) {
+                        continue;
+                    }
+                    used -= eldest.GetCost();
+                    iterator.remove();
+                }
+            }
+            return file;
+        }
+
+        private static CachedFile Load(Path path, long size, long modified, boolean compressible) throws IOException {
+            //read straight into the array, since a mapping would only be
+            //copied out of and then left for the collector to unmap
+            byte[] bytes = new byte[(int) size];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, buffer.position()) == -1) {
+                        throw new EOFException("The file " + path + " became shorter while it was being read.");
+                    }
+                }
+            }
+
+            byte[] compressed = null;
+            if (compressible && size >= 1024) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(bytes);
+                }
+                //only keep it if it is worth sending
+                if (out.size() < bytes.length) {
+                    compressed = out.toByteArray();
+                }
+            }
+            return new CachedFile(size, modified, bytes, compressed);
+        }
+    }
+}
@@ -7,41 +7,138 @@ package plugins.quorum.Libraries.Network;
 
 import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import quorum.Libraries.Network.NetworkExchangeListener_;
+import quorum.Libraries.System.File_;
 
 /**
- * This is really inflexible, but may be sufficient for small applications. 
- * 
+ * This is really inflexible, but may be sufficient for small applications.
+ *
+ * By default, every request is handled on the single dispatcher thread of
+ * the underlying HttpServer. A fixed pool of threads, or a virtual thread per
+ * request, can be requested before Start is called. On a JVM without virtual
+ * threads, the latter falls back to one pooled thread per processor.
+ *
+ * Folders added with AddFolder are served by a StaticFileHandler, all of them
+ * sharing one cache of fileCacheSize bytes.
+ *
  * @author stefika
  */
 public class WebServer {
     public java.lang.Object me_ = null;
-    
+
     HttpServer server = null;
+    ExecutorService executor = null;
+    int threadCount = 0;
+    boolean virtualThreads = false;
+    int fileCacheSize = 64 * 1024 * 1024;
+    StaticFileHandler.FileCache fileCache = null;
+
     public void Create(int port) throws IOException {
         if(server != null) {
-            server.stop(0);
-            server = null;
+            Stop(0);
         }
 
         server = HttpServer.create(new InetSocketAddress(port), 0);
     }
-    
+
     public void Start() {
+        executor = CreateExecutor();
+        if(executor != null) {
+            server.setExecutor(executor);
+        }
         server.start();
     }
-    
+
     public void Add(String context, NetworkExchangeListener_ listener) {
         HttpHandlerWrapper wrapper = new HttpHandlerWrapper();
         wrapper.setListener(listener);
         server.createContext(context, wrapper);
     }
-    
+
+    public void AddFolder(String context, File_ folder) {
+        if(fileCache == null) {
+            fileCache = new StaticFileHandler.FileCache(fileCacheSize);
+        }
+        server.createContext(context, new StaticFileHandler(context, Paths.get(folder.GetAbsolutePath()), fileCache));
+    }
+
     public void Stop(int delay) {
         if(server != null) {
             server.stop(delay);
             server = null;
         }
+
+        if(executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(delay, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+    public void SetThreadCount(int count) {
+        if(count < 0) {
+            count = 0;
+        }
+        threadCount = count;
+    }
+
+    public int GetThreadCount() {
+        return threadCount;
+    }
+
+    public void SetUsingVirtualThreads(boolean value) {
+        virtualThreads = value;
+    }
+
+    public boolean IsUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /* folders added after this share a new cache of the given size */
+    public void SetFileCacheSize(int bytes) {
+        if(bytes < 0) {
+            bytes = 0;
+        }
+        fileCacheSize = bytes;
+        fileCache = null;
+    }
+
+    public int GetFileCacheSize() {
+        return fileCacheSize;
+    }
+
+    /**
+     * Builds the executor requests are dispatched on. Virtual threads are only
+     * available on Java 21 and above, so they are looked up reflectively. If
+     * they are missing, we fall back to a fixed pool with one thread per
+     * processor, since a platform thread for every request would let a burst
+     * of requests start any number of threads.
+     *
+     * @return the executor, or null to use the server's dispatcher thread.
+     */
+    private ExecutorService CreateExecutor() {
+        if(virtualThreads) {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            }
+        }
+
+        if(threadCount > 0) {
+            return Executors.newFixedThreadPool(threadCount);
+        }
+        return null;
     }
 }
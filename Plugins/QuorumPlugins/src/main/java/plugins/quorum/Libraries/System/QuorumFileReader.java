@@ -4,163 +4,208 @@
  */
 package plugins.quorum.Libraries.System;
 
-import java.io.BufferedReader;
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import quorum.Libraries.System.File_;
 
 /**
  * The Java implementation for the "FileReader" Quorum class.
- * 
+ *
+ * Files are read through a FileChannel into a direct byte buffer and decoded
+ * explicitly, so reading a line never holds more than the line and the
+ * buffers in memory. The end of the file is known once the channel is
+ * exhausted and every decoded character has been handed out, which stays
+ * correct for multi-byte characters.
+ *
  * @author Jeff Wilson
  */
 public class QuorumFileReader {
+    public static final int BUFFER_SIZE = 256 * 1024;
+    public static final Charset CHARACTER_SET = StandardCharsets.UTF_8;
+    private static final String NEWLINE = System.getProperty("line.separator");
+
     protected File file = null;
-    protected BufferedReader bufferedReader = null;
-    protected long fileSize = 0; // used for EOF detection.
     protected boolean atEOF = false; // are we at the end of the file?
-    protected long readSoFar = 0; // how much have we read so far?
-    
+    private FileChannel channel = null;
+    private ByteBuffer bytes = null;
+    private CharBuffer characters = null;
+    private CharsetDecoder decoder = null;
+    private boolean endOfInput = false; // has the channel run out of bytes?
+    private boolean decoded = false; // has every byte been decoded?
+
     public void OpenForReadNative(File_ quorumFile) throws FileNotFoundException {
         file = new File(quorumFile.GetAbsolutePath());
-        bufferedReader = new BufferedReader(new FileReader(file));
-        fileSize = file.length();
-        readSoFar = 0;
-        
+        channel = new FileInputStream(file).getChannel();
+        if (bytes == null) {
+            bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            characters = CharBuffer.allocate(BUFFER_SIZE);
+        }
+        bytes.clear();
+        characters.clear();
+        characters.flip();
+        decoder = CHARACTER_SET.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        endOfInput = false;
+        decoded = false;
+
         // Is the file empty? if so, we're at eof.
-        if (fileSize == 0)
-            atEOF = true;
-        else
-            atEOF = false;
+        try {
+            atEOF = !Fill();
+        } catch (IOException ex) {
+            // The file could not be read, so do not leave it open.
+            try {
+                channel.close();
+            } catch (IOException closing) {
+                ex.addSuppressed(closing);
+            }
+            file = null;
+            channel = null;
+            decoder = null;
+            FileNotFoundException error = new FileNotFoundException(ex.getMessage());
+            error.initCause(ex);
+            throw error;
+        }
     }
-    
+
     public void Close() throws IOException {
-        if (bufferedReader != null)
-            bufferedReader.close();
+        if (channel != null)
+            channel.close();
         file = null;
-        bufferedReader = null;
-        fileSize = 0;
+        channel = null;
+        decoder = null;
         atEOF = false;
-        readSoFar = 0;
     }
 
     public String ReadNative() throws IOException {
         if (atEOF) {
             return "";
         }
-        
-        // Read all remaining file contents.
-        StringBuilder stringBuff = new StringBuilder();
-        char[] buffer = new char[1024];
-        int numRead = 0;
-        long totalRead = 0;
-
-        do {
-            numRead = bufferedReader.read(buffer, 0, 1024);
 
-            if (numRead > 0) {
-                stringBuff.append(buffer, 0, numRead);
-                totalRead += numRead;
-            }
-        } while (totalRead < fileSize && numRead > 0);
-
-        if (totalRead > 0)
-        {
-            // We will have reached the end of the file here. Don't throw an exception this time.
-            atEOF = true;
-            readSoFar = fileSize;
-            return stringBuff.toString();
-        }
-        else if (totalRead == 0) {
-            return "";
-        }
-        else
-        {
-            throw new IOException("Read() could not read any data from the file.");
+        // Read all remaining file contents.
+        long remaining = channel.size() - channel.position() + characters.remaining();
+        StringBuilder builder = new StringBuilder((int) Math.min(Math.max(remaining, 16), Integer.MAX_VALUE - 8));
+        while (Fill()) {
+            builder.append(characters.array(), characters.position(), characters.remaining());
+            characters.position(characters.limit());
         }
+
+        // We will have reached the end of the file here. Don't throw an exception this time.
+        atEOF = true;
+        return builder.toString();
     }
 
     public String ReadNative(int numberOfBytes) throws EOFException, IOException {
         if (atEOF)
             throw new EOFException();
-        
-        // Read appropriate number of bytes from the file.
-        char[] buffer = new char[numberOfBytes];
-        int numRead = 0;
 
-        numRead = bufferedReader.read(buffer, 0, numberOfBytes);
-
-        if (numRead == 0 || numRead == -1) {
-            atEOF = true;
-            throw new EOFException();
+        // Read up to the requested number of characters from the file.
+        StringBuilder builder = new StringBuilder(Math.min(numberOfBytes, BUFFER_SIZE));
+        int left = numberOfBytes;
+        while (left > 0 && Fill()) {
+            int count = Math.min(left, characters.remaining());
+            builder.append(characters.array(), characters.position(), count);
+            characters.position(characters.position() + count);
+            left -= count;
         }
 
-        if (numRead > 0)
-        {
-            readSoFar += numRead;
-            if (readSoFar >= fileSize) {
-                // Reached end of file. Don't raise an exception this time.
-                atEOF = true;
-            }
-            return String.valueOf(buffer);
-        }
-        else
-        {
-            throw new IOException("Read() could not read any data from the file.");
-        }
+        atEOF = !Fill();
+        return builder.toString();
     }
-    
-    public String ReadLineNative() throws EOFException, IOException {
-        String line = bufferedReader.readLine();
 
-        if (line == null) {
-            if (atEOF) {
-                throw new EOFException();
-            }
-            
-            atEOF = true;
-            line = "";
-            readSoFar = fileSize;
-        } else {
-            readSoFar += line.length() + System.getProperty("line.separator").length(); // newline is consumed.
-        }
+    public String ReadLineNative() throws EOFException, IOException {
+        if (atEOF)
+            throw new EOFException();
 
+        String line = NextLine();
+        atEOF = !Fill();
         return line;
     }
-    
-    public String ReadLinesNative() throws EOFException, IOException {
-        String line = null;
-        String lines = "";
-        String newLine = System.getProperty("line.separator");
-        
-        do {
-            line = bufferedReader.readLine();
-
-            if (line == null) {
-                if (atEOF) {
-                    throw new EOFException();
-                }
 
-                atEOF = true;
-                line = "";
-                readSoFar = fileSize;
-            } else {
-                lines += line + newLine;
-                readSoFar += line.length() + System.getProperty("line.separator").length(); // newline is consumed.
-            }
-        } while (line != null);
+    public String ReadLinesNative() throws EOFException, IOException {
+        if (atEOF)
+            throw new EOFException();
 
-        return lines;
+        StringBuilder lines = new StringBuilder();
+        while (!atEOF) {
+            lines.append(NextLine()).append(NEWLINE);
+            atEOF = !Fill();
+        }
+        return lines.toString();
     }
-    
+
     public boolean IsAtEndOfFile() {
         return this.atEOF;
     }
-    
+
     public String GetSystemNewline() {
-        return System.getProperty("line.separator");
+        return NEWLINE;
+    }
+
+    /*
+     * Reads up to the next "\n", "\r" or "\r\n", which is consumed but not
+     * returned, or up to the end of the file.
+     */
+    private String NextLine() throws IOException {
+        StringBuilder builder = null;
+        while (Fill()) {
+            char[] array = characters.array();
+            int start = characters.position();
+            int limit = characters.limit();
+            for (int i = start; i < limit; i++) {
+                char c = array[i];
+                if (c == '\n' || c == '\r') {
+                    characters.position(i + 1);
+                    if (c == '\r' && Fill() && characters.get(characters.position()) == '\n') {
+                        characters.position(characters.position() + 1);
+                    }
+                    if (builder == null) {
+                        return new String(array, start, i - start);
+                    }
+                    return builder.append(array, start, i - start).toString();
+                }
+            }
+            if (builder == null) {
+                builder = new StringBuilder(Math.max(16, 2 * (limit - start)));
+            }
+            builder.append(array, start, limit - start);
+            characters.position(limit);
+        }
+        return builder == null ? "" : builder.toString();
+    }
+
+    /*
+     * Makes sure there is at least one decoded character to hand out,
+     * reading and decoding the next block of the file if necessary. Returns
+     * false once the whole file has been handed out.
+     */
+    private boolean Fill() throws IOException {
+        while (!characters.hasRemaining()) {
+            if (decoded) {
+                return false;
+            }
+            characters.clear();
+            if (!endOfInput && channel.read(bytes) == -1) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            boolean underflow = decoder.decode(bytes, characters, endOfInput).isUnderflow();
+            bytes.compact();
+            if (endOfInput && underflow && decoder.flush(characters).isUnderflow()) {
+                decoded = true;
+            }
+            characters.flip();
+        }
+        return true;
     }
 }
@@ -0,0 +1,33 @@
+package plugins.quorum.Libraries.Web.Page;
+
+/**
+ * A plugin implementation for Libraries.Web.Page.WebWriter. Everything a page
+ * generates is appended to one StringBuilder, which grows by doubling, so
+ * writing a page costs time in proportion to its length however deeply its
+ * tags are nested.
+ *
+ * @author Andreas Stefik
+ */
+public class WebWriter {
+    public java.lang.Object me_ = null;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+
+    public void WriteNative(String value) {
+        builder.append(value);
+    }
+
+    public String ToText() {
+        return builder.toString();
+    }
+
+    public int GetSize() {
+        return builder.length();
+    }
+
+    public void Empty() {
+        builder.setLength(0);
+    }
+}
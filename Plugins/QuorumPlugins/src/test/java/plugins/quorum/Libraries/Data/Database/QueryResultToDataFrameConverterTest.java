@@ -0,0 +1,121 @@
+package plugins.quorum.Libraries.Data.Database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+import quorum.Libraries.Compute.Statistics.Columns.BooleanColumn;
+import quorum.Libraries.Compute.Statistics.Columns.IntegerColumn;
+import quorum.Libraries.Compute.Statistics.Columns.NumberColumn;
+import quorum.Libraries.Compute.Statistics.Columns.TextColumn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests reading query results into DataFrame columns against an embedded H2
+ * database. Each test connects to its own in-memory database.
+ *
+ * @author Andreas Stefik
+ */
+public class QueryResultToDataFrameConverterTest {
+    private static int databases = 0;
+
+    private static Connection Connect() throws SQLException {
+        databases++;
+        return DriverManager.getConnection("jdbc:h2:mem:converter" + databases);
+    }
+
+    private static void Run(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Test
+    public void ReadsTypedAndUndefinedValues() throws SQLException {
+        try (Connection connection = Connect()) {
+            Run(connection, "CREATE TABLE ITEMS (ID INT, A INT, B DOUBLE, C BOOLEAN, D VARCHAR(10))");
+            Run(connection, "INSERT INTO ITEMS VALUES (1, 7, 1.5, TRUE, 'x'), "
+                + "(2, NULL, NULL, NULL, NULL), (3, -3, -0.25, FALSE, 'z')");
+
+            Statement statement = connection.createStatement();
+            ResultSet results = statement.executeQuery("SELECT ID, A, B, C, D FROM ITEMS ORDER BY ID");
+            boolean[] finished = {false};
+            quorum.Libraries.Data.Database.QueryResult result = new quorum.Libraries.Data.Database.QueryResult();
+            result.plugin_.setResults(results);
+            result.plugin_.setFinished(() -> finished[0] = true);
+
+            IntegerColumn integers = new IntegerColumn();
+            NumberColumn numbers = new NumberColumn();
+            BooleanColumn booleans = new BooleanColumn();
+            TextColumn texts = new TextColumn();
+            QueryResultToDataFrameConverter converter = new QueryResultToDataFrameConverter();
+            converter.AddColumnNative(integers, 1);
+            converter.AddColumnNative(numbers, 2);
+            converter.AddColumnNative(booleans, 3);
+            converter.AddColumnNative(texts, 4);
+            converter.ReadNative(result);
+
+            assertEquals(3, integers.GetSize());
+            assertEquals("7", integers.GetAsText(0));
+            assertTrue(integers.IsUndefined(1));
+            assertEquals("-3", integers.GetAsText(2));
+
+            assertEquals(3, numbers.GetSize());
+            assertEquals("1.5", numbers.GetAsText(0));
+            assertTrue(numbers.IsUndefined(1));
+            assertEquals("-0.25", numbers.GetAsText(2));
+
+            assertEquals(3, booleans.GetSize());
+            assertEquals("true", booleans.GetAsText(0));
+            assertTrue(booleans.IsUndefined(1));
+            assertEquals("false", booleans.GetAsText(2));
+            assertFalse(booleans.IsUndefined(2));
+
+            assertEquals(3, texts.GetSize());
+            assertEquals("x", texts.GetAsText(0));
+            assertTrue(texts.IsUndefined(1));
+            assertEquals("z", texts.GetAsText(2));
+
+            //reading every row closes the result and gives its statement back
+            assertTrue(results.isClosed());
+            assertTrue(finished[0]);
+            statement.close();
+        }
+    }
+
+    @Test
+    public void ReadsPastInitialCapacity() throws SQLException {
+        try (Connection connection = Connect()) {
+            Statement statement = connection.createStatement();
+            ResultSet results = statement.executeQuery(
+                "SELECT X, X * 0.5, MOD(X, 3) = 0 FROM SYSTEM_RANGE(1, 5000) ORDER BY X");
+            quorum.Libraries.Data.Database.QueryResult result = new quorum.Libraries.Data.Database.QueryResult();
+            result.plugin_.setResults(results);
+
+            IntegerColumn integers = new IntegerColumn();
+            NumberColumn numbers = new NumberColumn();
+            BooleanColumn booleans = new BooleanColumn();
+            QueryResultToDataFrameConverter converter = new QueryResultToDataFrameConverter();
+            converter.AddColumnNative(integers, 0);
+            converter.AddColumnNative(numbers, 1);
+            converter.AddColumnNative(booleans, 2);
+            converter.ReadNative(result);
+
+            assertEquals(5000, integers.GetSize());
+            assertEquals(5000, numbers.GetSize());
+            assertEquals(5000, booleans.GetSize());
+            for (int row = 0; row < 5000; row++) {
+                assertEquals(row + 1, integers.GetAsInteger(row));
+                assertEquals((row + 1) * 0.5, numbers.GetAsNumber(row));
+                assertEquals((row + 1) % 3 == 0, booleans.GetAsBoolean(row));
+            }
+            assertTrue(results.isClosed());
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package plugins.quorum.Libraries.Data.Database.Strategies;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests ConnectionPool and PooledConnection against an embedded H2 database.
+ * Each test connects to its own in-memory database, and so gets its own pool.
+ *
+ * @author Andreas Stefik
+ */
+public class ConnectionPoolTest {
+    private static final String QUERY = "SELECT X FROM SYSTEM_RANGE(1, 10)";
+    private static int databases = 0;
+
+    private static ConnectionPool NewPool() {
+        databases++;
+        return ConnectionPool.Get("jdbc:h2:mem:pool" + databases + ";DB_CLOSE_DELAY=-1");
+    }
+
+    private static void Run(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Test
+    public void ReturnedConnectionIsReused() throws SQLException {
+        ConnectionPool pool = NewPool();
+        PooledConnection first = pool.Borrow();
+        pool.Return(first);
+        PooledConnection second = pool.Borrow();
+        assertSame(first, second);
+        pool.Return(second);
+    }
+
+    @Test
+    public void ReturnRestoresSettings() throws SQLException {
+        ConnectionPool pool = NewPool();
+        PooledConnection pooled = pool.Borrow();
+        Connection connection = pooled.connection;
+        int isolation = connection.getTransactionIsolation();
+        String schema = connection.getSchema();
+        Run(connection, "CREATE SCHEMA OTHER");
+
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(isolation == Connection.TRANSACTION_SERIALIZABLE
+            ? Connection.TRANSACTION_READ_COMMITTED : Connection.TRANSACTION_SERIALIZABLE);
+        connection.setSchema("OTHER");
+        pool.Return(pooled);
+
+        PooledConnection again = pool.Borrow();
+        assertSame(pooled, again);
+        assertTrue(connection.getAutoCommit());
+        assertEquals(isolation, connection.getTransactionIsolation());
+        assertEquals(schema, connection.getSchema());
+        pool.Return(again);
+    }
+
+    @Test
+    public void ReturnRollsBackUnfinishedTransaction() throws SQLException {
+        ConnectionPool pool = NewPool();
+        PooledConnection pooled = pool.Borrow();
+        Run(pooled.connection, "CREATE TABLE ITEMS (ID INT)");
+        pooled.connection.setAutoCommit(false);
+        Run(pooled.connection, "INSERT INTO ITEMS VALUES (1)");
+        pool.Return(pooled);
+
+        PooledConnection again = pool.Borrow();
+        try (Statement statement = again.connection.createStatement();
+                ResultSet results = statement.executeQuery("SELECT COUNT(*) FROM ITEMS")) {
+            assertTrue(results.next());
+            assertEquals(0, results.getInt(1));
+        }
+        pool.Return(again);
+    }
+
+    @Test
+    public void ReturnClosesOpenResults() throws SQLException {
+        ConnectionPool pool = NewPool();
+        PooledConnection pooled = pool.Borrow();
+        PreparedStatement statement = pooled.Prepare(QUERY, false);
+        ResultSet results = statement.executeQuery();
+        pooled.Opened(QUERY, statement, results);
+        assertTrue(results.next());
+        pool.Return(pooled);
+        assertTrue(results.isClosed());
+    }
+
+    @Test
+    public void BusyStatementIsNotReused() throws SQLException {
+        ConnectionPool pool = NewPool();
+        PooledConnection pooled = pool.Borrow();
+        PreparedStatement first = pooled.Prepare(QUERY, false);
+        ResultSet firstResults = first.executeQuery();
+        Runnable firstFinished = pooled.Opened(QUERY, first, firstResults);
+        assertTrue(firstResults.next());
+
+        //the first results are still being read, so the same query gets its own statement
+        PreparedStatement second = pooled.Prepare(QUERY, false);
+        assertNotSame(first, second);
+        ResultSet secondResults = second.executeQuery();
+        Runnable secondFinished = pooled.Opened(QUERY, second, secondResults);
+        assertFalse(firstResults.isClosed());
+        assertEquals(1, firstResults.getInt(1));
+
+        secondFinished.run();
+        assertTrue(second.isClosed());
+
+        firstFinished.run();
+        assertSame(first, pooled.Prepare(QUERY, false));
+        pool.Return(pooled);
+    }
+}
@@ -0,0 +1,100 @@
+package plugins.quorum.Libraries.Data.Database.Strategies;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+import quorum.Libraries.Data.Database.Insert;
+import quorum.Libraries.Data.Database.Insert_;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the batched inserts of DefaultDatabaseStrategy against an embedded H2
+ * database. Each test connects to its own in-memory database.
+ *
+ * @author Andreas Stefik
+ */
+public class DefaultDatabaseStrategyTest {
+    private static int databases = 0;
+
+    private String location;
+
+    private DefaultDatabaseStrategy Connect() throws SQLException {
+        databases++;
+        location = "jdbc:h2:mem:batch" + databases + ";DB_CLOSE_DELAY=-1";
+        DefaultDatabaseStrategy strategy = new DefaultDatabaseStrategy();
+        strategy.ConnectNative(location);
+        try (Statement statement = strategy.connection.createStatement()) {
+            statement.execute("CREATE TABLE ITEMS (ID INT, NAME VARCHAR(20))");
+        }
+        return strategy;
+    }
+
+    private static Insert_ NewInsert(DefaultDatabaseStrategy strategy, int id) throws SQLException {
+        Insert insert = new Insert();
+        insert.SetDatabaseMetaData(strategy.GetDatabaseMetaData());
+        insert.SetTable("ITEMS");
+        insert.Add("ID", id);
+        insert.Add("NAME", "item " + id);
+        return insert;
+    }
+
+    private static int Count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet results = statement.executeQuery("SELECT COUNT(*) FROM ITEMS")) {
+            results.next();
+            return results.getInt(1);
+        }
+    }
+
+    @Test
+    public void BatchRunsWhenFull() throws SQLException {
+        DefaultDatabaseStrategy strategy = Connect();
+        strategy.AddToBatchNative(NewInsert(strategy, 1), 3);
+        strategy.AddToBatchNative(NewInsert(strategy, 2), 3);
+        assertEquals(0, Count(strategy.connection));
+
+        strategy.AddToBatchNative(NewInsert(strategy, 3), 3);
+        assertEquals(3, Count(strategy.connection));
+
+        strategy.AddToBatchNative(NewInsert(strategy, 4), 3);
+        assertEquals(3, Count(strategy.connection));
+        assertEquals(4, strategy.RunBatchNative());
+        assertEquals(4, Count(strategy.connection));
+        assertEquals(0, strategy.RunBatchNative());
+        strategy.CloseNative();
+    }
+
+    @Test
+    public void CloseRunsWaitingInserts() throws SQLException {
+        DefaultDatabaseStrategy strategy = Connect();
+        strategy.AddToBatchNative(NewInsert(strategy, 1), 100);
+        strategy.AddToBatchNative(NewInsert(strategy, 2), 100);
+        strategy.CloseNative();
+
+        try (Connection connection = DriverManager.getConnection(location)) {
+            assertEquals(2, Count(connection));
+        }
+    }
+
+    @Test
+    public void RollbackDiscardsBatch() throws SQLException {
+        DefaultDatabaseStrategy strategy = Connect();
+        strategy.SetAutoCommitNative(false);
+        strategy.AddToBatchNative(NewInsert(strategy, 1), 100);
+        strategy.AddToBatchNative(NewInsert(strategy, 2), 100);
+        strategy.RollbackNative();
+        assertEquals(0, strategy.RunBatchNative());
+        assertEquals(0, Count(strategy.connection));
+
+        //the batch starts over after a rollback
+        strategy.AddToBatchNative(NewInsert(strategy, 3), 100);
+        strategy.CommitNative();
+        assertEquals(1, Count(strategy.connection));
+        assertEquals(1, strategy.RunBatchNative());
+        strategy.CloseNative();
+    }
+}
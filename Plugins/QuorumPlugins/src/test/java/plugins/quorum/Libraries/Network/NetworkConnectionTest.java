@@ -0,0 +1,152 @@
+package plugins.quorum.Libraries.Network;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import quorum.Libraries.Containers.ByteArray_;
+import quorum.Libraries.Language.Errors.InputOutputError;
+import quorum.Libraries.Network.NetworkRequest;
+import quorum.Libraries.Network.NetworkResponseEvent_;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests NetworkConnection against a server on the loopback address, which
+ * answers /text with a short text body, /binary with every byte value, and
+ * /fail with an error.
+ *
+ * @author Patrick Daleiden
+ */
+public class NetworkConnectionTest {
+    private static final byte[] BINARY = new byte[256];
+
+    static {
+        for (int i = 0; i < BINARY.length; i++) {
+            BINARY[i] = (byte) i;
+        }
+    }
+
+    private HttpServer server;
+    private final List<Integer> ports = Collections.synchronizedList(new ArrayList<>());
+
+    /* keeps every response instead of notifying listeners */
+    private static final class Connection extends quorum.Libraries.Network.NetworkConnection {
+        final List<NetworkResponseEvent_> responses = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void SetResponse(NetworkResponseEvent_ response) {
+            responses.add(response);
+        }
+    }
+
+    @BeforeEach
+    public void Start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/text", exchange -> {
+            ports.add(exchange.getRemoteAddress().getPort());
+            Drain(exchange.getRequestBody());
+            byte[] body = "hello".getBytes("UTF-8");
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/binary", exchange -> {
+            Drain(exchange.getRequestBody());
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, BINARY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BINARY);
+            }
+        });
+        server.createContext("/fail", exchange -> {
+            Drain(exchange.getRequestBody());
+            byte[] body = "broken".getBytes("UTF-8");
+            exchange.sendResponseHeaders(500, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void Stop() {
+        server.stop(0);
+    }
+
+    private static void Drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) != -1) {
+        }
+    }
+
+    private NetworkRequest Get(String path) {
+        NetworkRequest request = new NetworkRequest();
+        request.SetRequestTypeToGet();
+        request.SetWebAddress("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        request.SetReadTimeout(10000);
+        return request;
+    }
+
+    @Test
+    public void SequentialRequestsReuseTheConnection() {
+        Connection connection = new Connection();
+        for (int i = 0; i < 3; i++) {
+            connection.SendRequest(Get("/text"));
+        }
+        assertEquals(3, connection.responses.size());
+        assertEquals("hello", connection.responses.get(2).GetResponseText());
+
+        //every request came from the same socket
+        assertEquals(3, ports.size());
+        assertEquals(1, new HashSet<>(ports).size());
+    }
+
+    @Test
+    public void BinaryBodyIsKeptAsBytes() {
+        Connection connection = new Connection();
+        connection.SendRequest(Get("/binary"));
+        assertEquals(1, connection.responses.size());
+        ByteArray_ bytes = connection.responses.get(0).GetResponseBytes();
+        assertEquals(BINARY.length, bytes.GetSize());
+        for (int i = 0; i < BINARY.length; i++) {
+            assertEquals(BINARY[i], (byte) bytes.Get(i));
+        }
+    }
+
+    @Test
+    public void WaitForRequestsReportsFailure() {
+        Connection connection = new Connection();
+        connection.SendAsynchronousRequest(Get("/text"));
+        connection.SendAsynchronousRequest(Get("/fail"));
+        connection.SendAsynchronousRequest(Get("/text"));
+        assertThrows(InputOutputError.class, connection::WaitForRequests);
+
+        //the requests that worked were still answered, and the error is only reported once
+        assertEquals(2, connection.responses.size());
+        connection.WaitForRequests();
+    }
+
+    @Test
+    public void WaitForRequestsWaitsForEveryResponse() {
+        Connection connection = new Connection();
+        for (int i = 0; i < 20; i++) {
+            connection.SendAsynchronousRequest(Get("/text"));
+        }
+        connection.WaitForRequests();
+        assertEquals(20, connection.responses.size());
+    }
+}
@@ -0,0 +1,230 @@
+package plugins.quorum.Libraries.Network;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests StaticFileHandler on a server on the loopback address, which serves
+ * the folder "site" at /files. A file named "secret.txt" sits next to the
+ * folder, where no request should be able to reach it.
+ *
+ * @author Andreas Stefik
+ */
+public class StaticFileHandlerTest {
+    private static final byte[] PAGE = "<html><body>hello</body></html>".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path folder;
+
+    private HttpServer server;
+    private String address;
+
+    @BeforeEach
+    public void Start() throws IOException {
+        Path site = folder.resolve("site");
+        Files.createDirectories(site.resolve("sub"));
+        Files.write(site.resolve("index.html"), PAGE);
+        Files.write(site.resolve("sub").resolve("page.txt"), PAGE);
+        Files.write(folder.resolve("secret.txt"), "secret".getBytes(StandardCharsets.UTF_8));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/files", new StaticFileHandler("/files", site, new StaticFileHandler.FileCache(1024 * 1024)));
+        server.start();
+        address = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void Stop() {
+        server.stop(0);
+    }
+
+    @Test
+    public void ServesFileWithValidators() throws IOException {
+        HttpURLConnection connection = Open("/files/index.html");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("text/html; charset=utf-8", connection.getHeaderField("Content-Type"));
+        assertNotNull(connection.getHeaderField("ETag"));
+        assertNotNull(connection.getHeaderField("Last-Modified"));
+        assertArrayEquals(PAGE, Read(connection.getInputStream()));
+
+        //a folder is answered with its index
+        connection = Open("/files/");
+        assertEquals(200, connection.getResponseCode());
+        assertArrayEquals(PAGE, Read(connection.getInputStream()));
+    }
+
+    @Test
+    public void MatchingETagIsNotModified() throws IOException {
+        String tag = Open("/files/index.html").getHeaderField("ETag");
+
+        HttpURLConnection connection = Open("/files/index.html");
+        connection.setRequestProperty("If-None-Match", tag);
+        assertEquals(304, connection.getResponseCode());
+        assertEquals(tag, connection.getHeaderField("ETag"));
+
+        connection = Open("/files/index.html");
+        connection.setRequestProperty("If-None-Match", "\"other\", W/" + tag);
+        assertEquals(304, connection.getResponseCode());
+
+        connection = Open("/files/index.html");
+        connection.setRequestProperty("If-None-Match", "\"other\"");
+        assertEquals(200, connection.getResponseCode());
+        assertArrayEquals(PAGE, Read(connection.getInputStream()));
+    }
+
+    @Test
+    public void UnchangedSinceIsNotModified() throws IOException {
+        String modified = Open("/files/index.html").getHeaderField("Last-Modified");
+
+        HttpURLConnection connection = Open("/files/index.html");
+        connection.setRequestProperty("If-Modified-Since", modified);
+        assertEquals(304, connection.getResponseCode());
+
+        connection = Open("/files/index.html");
+        connection.setRequestProperty("If-Modified-Since", "Thu, 01 Jan 1970 00:00:00 GMT");
+        assertEquals(200, connection.getResponseCode());
+        assertArrayEquals(PAGE, Read(connection.getInputStream()));
+
+        //If-Modified-Since is ignored when If-None-Match does not match
+        connection = Open("/files/index.html");
+        connection.setRequestProperty("If-None-Match", "\"other\"");
+        connection.setRequestProperty("If-Modified-Since", modified);
+        assertEquals(200, connection.getResponseCode());
+    }
+
+    @Test
+    public void ChangedFileIsServedAgain() throws IOException {
+        HttpURLConnection connection = Open("/files/index.html");
+        String tag = connection.getHeaderField("ETag");
+        Read(connection.getInputStream());
+
+        byte[] changed = "<html><body>changed</body></html>".getBytes(StandardCharsets.UTF_8);
+        Path page = folder.resolve("site").resolve("index.html");
+        Files.write(page, changed);
+        Files.setLastModifiedTime(page, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        connection = Open("/files/index.html");
+        connection.setRequestProperty("If-None-Match", tag);
+        assertEquals(200, connection.getResponseCode());
+        assertArrayEquals(changed, Read(connection.getInputStream()));
+    }
+
+    @Test
+    public void TraversalOutsideTheFolderIsRejected() throws IOException {
+        assertEquals(200, StatusOf("/files/sub/page.txt"));
+        assertEquals(200, StatusOf("/files/sub/../index.html"));
+
+        assertEquals(404, StatusOf("/files/../secret.txt"));
+        assertEquals(404, StatusOf("/files/sub/../../secret.txt"));
+        assertEquals(404, StatusOf("/files/%2e%2e/secret.txt"));
+        assertEquals(404, StatusOf("/files/sub/..%2f..%2fsecret.txt"));
+        assertEquals(404, StatusOf("/files/..%5csecret.txt"));
+        assertEquals(404, StatusOf("/files/missing.txt"));
+    }
+
+    @Test
+    public void CacheEvictsLeastRecentlyUsedByBytes() throws IOException {
+        //each file costs 1000 bytes, so the cache holds four of them
+        StaticFileHandler.FileCache cache = new StaticFileHandler.FileCache(4000);
+        Path[] paths = new Path[5];
+        StaticFileHandler.CachedFile[] loaded = new StaticFileHandler.CachedFile[5];
+        for (int i = 0; i < paths.length; i++) {
+            byte[] bytes = new byte[1000];
+            Arrays.fill(bytes, (byte) i);
+            paths[i] = folder.resolve("cache" + i + ".bin");
+            Files.write(paths[i], bytes);
+        }
+        for (int i = 0; i < 4; i++) {
+            loaded[i] = Get(cache, paths[i]);
+            assertEquals(1000, loaded[i].bytes.length);
+            assertEquals((byte) i, loaded[i].bytes[999]);
+        }
+
+        //using the first file makes the second the least recently used
+        assertSame(loaded[0], Get(cache, paths[0]));
+        loaded[4] = Get(cache, paths[4]);
+
+        assertSame(loaded[0], Get(cache, paths[0]));
+        assertSame(loaded[2], Get(cache, paths[2]));
+        assertSame(loaded[3], Get(cache, paths[3]));
+        assertSame(loaded[4], Get(cache, paths[4]));
+        assertNotSame(loaded[1], Get(cache, paths[1]));
+    }
+
+    @Test
+    public void CacheSkipsLargeFilesAndCompressesText() throws IOException {
+        //text is only compressed from 1024 bytes, so this cache keeps up to 2000
+        StaticFileHandler.FileCache cache = new StaticFileHandler.FileCache(8000);
+        Path large = folder.resolve("large.bin");
+        Files.write(large, new byte[2001]);
+        assertNull(cache.Get(large, 2001, 0, false));
+
+        byte[] text = new byte[2000];
+        Arrays.fill(text, (byte) 'a');
+        Path page = folder.resolve("page.txt");
+        Files.write(page, text);
+        StaticFileHandler.CachedFile file = cache.Get(page, text.length, 0, true);
+        assertArrayEquals(text, file.bytes);
+        assertNotNull(file.compressed);
+        assertTrue(file.compressed.length < text.length);
+        assertEquals(text.length + file.compressed.length, file.GetCost());
+    }
+
+    private static StaticFileHandler.CachedFile Get(StaticFileHandler.FileCache cache, Path path) throws IOException {
+        return cache.Get(path, Files.size(path), Files.getLastModifiedTime(path).toMillis(), false);
+    }
+
+    private HttpURLConnection Open(String path) throws IOException {
+        return (HttpURLConnection) new URL(address + path).openConnection();
+    }
+
+    /* sends the path exactly as written, since a client library may tidy it */
+    private int StatusOf(String path) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getAddress().getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            String response = new String(Read(socket.getInputStream()), StandardCharsets.ISO_8859_1);
+            return Integer.parseInt(response.substring(9, 12));
+        }
+    }
+
+    private static byte[] Read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        try {
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+    The native storage for the Matrix class. The cells are kept in one typed
+    array, one row after another.
+*/
+function plugins_quorum_Libraries_Compute_Matrix_(quorumObject) {
+    this.me_ = quorumObject;
+    this.values = new Float64Array(0);
+    this.rows = 0;
+    this.columns = 0;
+
+    this.GetNative$quorum_integer$quorum_integer = function (row, column) {
+        return this.values[row * this.columns + column];
+    };
+
+    this.SetNative$quorum_integer$quorum_integer$quorum_number = function (row, column, value) {
+        this.values[row * this.columns + column] = value;
+    };
+
+    this.GetRows = function () {
+        return this.rows;
+    };
+
+    this.GetColumns = function () {
+        return this.columns;
+    };
+
+    this.SetSizeNative$quorum_integer$quorum_integer = function (rows, columns) {
+        if (rows === this.rows && columns === this.columns) {
+            return;
+        }
+        var resized = new Float64Array(rows * columns);
+        var keepRows = Math.min(rows, this.rows);
+        var keepColumns = Math.min(columns, this.columns);
+        for (var row = 0; row < keepRows; row++) {
+            resized.set(this.values.subarray(row * this.columns, row * this.columns + keepColumns), row * columns);
+        }
+        this.values = resized;
+        this.rows = rows;
+        this.columns = columns;
+    };
+
+    this.Fill$quorum_integer$quorum_integer$quorum_number = function (rows, columns, value) {
+        this.values = new Float64Array(rows * columns);
+        if (value !== 0) {
+            this.values.fill(value);
+        }
+        this.rows = rows;
+        this.columns = columns;
+    };
+
+    this.CopyNative$quorum_Libraries_Compute_Matrix = function (matrix) {
+        var from = matrix.plugin_;
+        this.values = from.values.slice();
+        this.rows = from.rows;
+        this.columns = from.columns;
+    };
+
+    this.TransposeNative$quorum_Libraries_Compute_Matrix = function (matrix) {
+        var from = matrix.plugin_;
+        var n = from.rows;
+        var m = from.columns;
+        var source = from.values;
+        var result = new Float64Array(n * m);
+        for (var row = 0; row < n; row++) {
+            for (var column = 0; column < m; column++) {
+                result[column * n + row] = source[row * m + column];
+            }
+        }
+        this.values = result;
+        this.rows = m;
+        this.columns = n;
+    };
+
+    this.MultiplyNative$quorum_Libraries_Compute_Matrix$quorum_Libraries_Compute_Matrix = function (leftMatrix, rightMatrix) {
+        var left = leftMatrix.plugin_;
+        var right = rightMatrix.plugin_;
+        var n = left.rows;
+        var inner = left.columns;
+        var m = right.columns;
+        var a = left.values;
+        var b = right.values;
+        var c = new Float64Array(n * m);
+        for (var row = 0; row < n; row++) {
+            for (var k = 0; k < inner; k++) {
+                var value = a[row * inner + k];
+                var bRow = k * m;
+                var cRow = row * m;
+                for (var column = 0; column < m; column++) {
+                    c[cRow + column] += value * b[bRow + column];
+                }
+            }
+        }
+        this.values = c;
+        this.rows = n;
+        this.columns = m;
+    };
+}
@@ -0,0 +1,113 @@
+/*
+    The native side of the LowerUpperDecomposition class, which works on the
+    typed array of the Matrix plugin directly.
+*/
+function plugins_quorum_Libraries_Compute_MatrixTransform_LowerUpperDecomposition_(quorumObject) {
+    this.me_ = quorumObject;
+    this.pivot = new Int32Array(0);
+
+    this.DecomposeNative$quorum_Libraries_Compute_Matrix$quorum_number = function (matrix, tooSmall) {
+        var lu = matrix.plugin_.values;
+        var m = matrix.plugin_.columns;
+        var singular = false;
+        var row;
+        var i;
+
+        this.pivot = new Int32Array(m);
+        for (row = 0; row < m; row++) {
+            this.pivot[row] = row;
+        }
+
+        for (var column = 0; column < m; column++) {
+            //first tackle the upper triangular
+            for (row = 0; row < column; row++) {
+                var sum = lu[row * m + column];
+                for (i = 0; i < row; i++) {
+                    sum -= lu[row * m + i] * lu[i * m + column];
+                }
+                lu[row * m + column] = sum;
+            }
+
+            //then the lower triangular, finding the largest value to pivot on
+            var max = column;
+            var largest = Number.NEGATIVE_INFINITY;
+            for (row = column; row < m; row++) {
+                var lower = lu[row * m + column];
+                for (i = 0; i < column; i++) {
+                    lower -= lu[row * m + i] * lu[i * m + column];
+                }
+                lu[row * m + column] = lower;
+                if (Math.abs(lower) > largest) {
+                    largest = Math.abs(lower);
+                    max = row;
+                }
+            }
+
+            if (Math.abs(lu[max * m + column]) < tooSmall) {
+                singular = true;
+            }
+
+            if (max !== column) {
+                for (i = 0; i < m; i++) {
+                    var temp = lu[max * m + i];
+                    lu[max * m + i] = lu[column * m + i];
+                    lu[column * m + i] = temp;
+                }
+                var pivotTemp = this.pivot[max];
+                this.pivot[max] = this.pivot[column];
+                this.pivot[column] = pivotTemp;
+            }
+
+            var diagonal = lu[column * m + column];
+            for (row = column + 1; row < m; row++) {
+                lu[row * m + column] /= diagonal;
+            }
+        }
+        return singular;
+    };
+
+    this.GetPivotNative$quorum_integer = function (row) {
+        return this.pivot[row];
+    };
+
+    this.SolveNative$quorum_Libraries_Compute_Matrix$quorum_Libraries_Compute_Matrix$quorum_Libraries_Compute_Matrix = function (decomposition, matrix, result) {
+        var lu = decomposition.plugin_.values;
+        var b = matrix.plugin_.values;
+        var m = this.pivot.length;
+        var columns = matrix.plugin_.columns;
+        var x = new Float64Array(m * columns);
+        var row, column, i, j;
+
+        for (row = 0; row < m; row++) {
+            x.set(b.subarray(this.pivot[row] * columns, this.pivot[row] * columns + columns), row * columns);
+        }
+
+        //solve LY = b
+        for (column = 0; column < m; column++) {
+            for (i = column + 1; i < m; i++) {
+                var factor = lu[i * m + column];
+                for (j = 0; j < columns; j++) {
+                    x[i * columns + j] -= x[column * columns + j] * factor;
+                }
+            }
+        }
+
+        //solve UX = Y
+        for (column = m - 1; column >= 0; column--) {
+            var diagonal = lu[column * m + column];
+            for (j = 0; j < columns; j++) {
+                x[column * columns + j] /= diagonal;
+            }
+            for (i = 0; i < column; i++) {
+                var upper = lu[i * m + column];
+                for (j = 0; j < columns; j++) {
+                    x[i * columns + j] -= x[column * columns + j] * upper;
+                }
+            }
+        }
+
+        result.plugin_.values = x;
+        result.plugin_.rows = m;
+        result.plugin_.columns = columns;
+    };
+}
@@ -0,0 +1,123 @@
+/*
+    The native side of the OrthonormalTriangularDecomposition class. The
+    Householder reflections work on the transposed matrix, so each reflector
+    is one row of the Matrix plugin's typed array.
+*/
+function plugins_quorum_Libraries_Compute_MatrixTransform_OrthonormalTriangularDecomposition_(quorumObject) {
+    this.me_ = quorumObject;
+    this.diagonal = new Float64Array(0);
+
+    this.ReflectNative$quorum_Libraries_Compute_Matrix = function (matrix) {
+        var t = matrix.plugin_.values;
+        var n = matrix.plugin_.rows;
+        var m = matrix.plugin_.columns;
+        var size = Math.min(n, m);
+        this.diagonal = new Float64Array(size);
+
+        for (var minor = 0; minor < size; minor++) {
+            var minorOffset = minor * m;
+            var xNormSqr = 0;
+            var row;
+            for (row = minor; row < m; row++) {
+                xNormSqr += t[minorOffset + row] * t[minorOffset + row];
+            }
+
+            var a = t[minorOffset + minor] > 0 ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+            this.diagonal[minor] = a;
+            if (a === 0) {
+                continue;
+            }
+
+            t[minorOffset + minor] -= a;
+            var scale = a * t[minorOffset + minor];
+            for (var column = minor + 1; column < n; column++) {
+                var offset = column * m;
+                var alpha = 0;
+                for (row = minor; row < m; row++) {
+                    alpha -= t[offset + row] * t[minorOffset + row];
+                }
+                alpha /= scale;
+                for (row = minor; row < m; row++) {
+                    t[offset + row] -= alpha * t[minorOffset + row];
+                }
+            }
+        }
+    };
+
+    this.GetDiagonalNative$quorum_integer = function (index) {
+        return this.diagonal[index];
+    };
+
+    this.OrthonormalNative$quorum_Libraries_Compute_Matrix$quorum_Libraries_Compute_Matrix = function (matrix, result) {
+        var t = matrix.plugin_.values;
+        var n = matrix.plugin_.rows;
+        var m = matrix.plugin_.columns;
+        var min = Math.min(n, m);
+        var qta = new Float64Array(m * m);
+        var minor;
+
+        for (minor = m - 1; minor >= min; minor--) {
+            qta[minor * m + minor] = 1;
+        }
+
+        for (minor = min - 1; minor >= 0; minor--) {
+            var minorOffset = minor * m;
+            qta[minorOffset + minor] = 1;
+            if (t[minorOffset + minor] === 0) {
+                continue;
+            }
+            var scale = this.diagonal[minor] * t[minorOffset + minor];
+            for (var column = minor; column < m; column++) {
+                var offset = column * m;
+                var alpha = 0;
+                var row;
+                for (row = minor; row < m; row++) {
+                    alpha -= qta[offset + row] * t[minorOffset + row];
+                }
+                alpha /= scale;
+                for (row = minor; row < m; row++) {
+                    qta[offset + row] += -alpha * t[minorOffset + row];
+                }
+            }
+        }
+
+        result.plugin_.values = qta;
+        result.plugin_.rows = m;
+        result.plugin_.columns = m;
+    };
+
+    this.SolveNative$quorum_Libraries_Compute_Matrix$quorum_Libraries_Compute_Vector$quorum_Libraries_Compute_Vector = function (matrix, vector, result) {
+        var t = matrix.plugin_.values;
+        var n = matrix.plugin_.rows;
+        var m = matrix.plugin_.columns;
+        var min = Math.min(n, m);
+        var y = new Float64Array(m);
+        var row;
+
+        for (row = 0; row < m; row++) {
+            y[row] = vector.Get$quorum_integer(row);
+        }
+
+        //apply the Householder transforms to solve Q.y = b
+        for (var minor = 0; minor < min; minor++) {
+            var minorOffset = minor * m;
+            var dotProduct = 0;
+            for (row = minor; row < m; row++) {
+                dotProduct += y[row] * t[minorOffset + row];
+            }
+            dotProduct /= this.diagonal[minor] * t[minorOffset + minor];
+            for (row = minor; row < m; row++) {
+                y[row] += dotProduct * t[minorOffset + row];
+            }
+        }
+
+        //then back substitute through the upper triangular matrix
+        for (row = this.diagonal.length - 1; row >= 0; row--) {
+            y[row] /= this.diagonal[row];
+            result.Set$quorum_integer$quorum_number(row, y[row]);
+            for (var i = 0; i < row; i++) {
+                y[i] -= y[row] * t[row * m + i];
+            }
+        }
+    };
+}
@@ -0,0 +1,102 @@
+/*
+    The native side of the CentralMoments class. Values are folded in one at a
+    time with Welford's update, extended to the third and fourth moments.
+*/
+function plugins_quorum_Libraries_Compute_Statistics_Calculations_CentralMoments_(quorumObject) {
+    this.me_ = quorumObject;
+    this.size = 0;
+    this.mean = 0;
+    this.m2 = 0;
+    this.m3 = 0;
+    this.m4 = 0;
+    this.sum = 0;
+    this.minimum = 0;
+    this.maximum = 0;
+
+    this.AddNative$quorum_number = function (value) {
+        var previous = this.size;
+        this.size++;
+        var n = this.size;
+        var delta = value - this.mean;
+        var deltaN = delta / n;
+        var deltaN2 = deltaN * deltaN;
+        var term = delta * deltaN * previous;
+        this.mean = this.mean + deltaN;
+        this.m4 = this.m4 + term * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * this.m2 - 4 * deltaN * this.m3;
+        this.m3 = this.m3 + term * deltaN * (n - 2) - 3 * deltaN * this.m2;
+        this.m2 = this.m2 + term;
+        this.sum = this.sum + value;
+        if (previous === 0 || value < this.minimum) {
+            this.minimum = value;
+        }
+        if (previous === 0 || value > this.maximum) {
+            this.maximum = value;
+        }
+    };
+
+    this.CalculateNative$quorum_Libraries_Compute_Statistics_DataFrameColumn = function (column) {
+        var plugin = column.plugin_;
+        if (plugin !== undefined && plugin.values !== undefined) {
+            for (var i = 0; i < plugin.size; i++) {
+                if (plugin.undefinedRows[i] === 0) {
+                    this.AddNative$quorum_number(plugin.values[i]);
+                }
+            }
+            return;
+        }
+
+        var size = column.GetSize();
+        for (var row = 0; row < size; row++) {
+            if (!column.IsUndefined$quorum_integer(row)) {
+                this.AddNative$quorum_number(column.GetAsNumber$quorum_integer(row));
+            }
+        }
+    };
+
+    this.EmptyNative = function () {
+        this.size = 0;
+        this.mean = 0;
+        this.m2 = 0;
+        this.m3 = 0;
+        this.m4 = 0;
+        this.sum = 0;
+        this.minimum = 0;
+        this.maximum = 0;
+    };
+
+    this.GetSize = function () {
+        return this.size;
+    };
+
+    this.GetMean = function () {
+        return this.mean;
+    };
+
+    this.GetSum = function () {
+        return this.sum;
+    };
+
+    this.GetMinimum = function () {
+        return this.minimum;
+    };
+
+    this.GetMaximum = function () {
+        return this.maximum;
+    };
+
+    this.GetCentralSum$quorum_integer = function (power) {
+        switch (power) {
+            case 0:
+                return this.size;
+            case 1:
+                return 0;
+            case 2:
+                return this.m2;
+            case 3:
+                return this.m3;
+            case 4:
+                return this.m4;
+        }
+        throw "Central sums are only kept up to the fourth power, not " + power + ".";
+    };
+}
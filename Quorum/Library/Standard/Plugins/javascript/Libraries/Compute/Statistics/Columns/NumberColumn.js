@@ -0,0 +1,173 @@
+/*
+    The native storage for the NumberColumn class. Values are kept in a typed
+    array, with a second array marking which rows are undefined.
+*/
+function plugins_quorum_Libraries_Compute_Statistics_Columns_NumberColumn_(quorumObject) {
+    this.me_ = quorumObject;
+    this.values = new Float64Array(0);
+    this.undefinedRows = new Uint8Array(0);
+    this.size = 0;
+
+    this.Grow = function (minimum) {
+        if (minimum <= this.values.length) {
+            return;
+        }
+        var capacity = Math.max(minimum, Math.max(16, this.values.length * 2));
+        var values = new Float64Array(capacity);
+        values.set(this.values.subarray(0, this.size));
+        this.values = values;
+        var undefinedRows = new Uint8Array(capacity);
+        undefinedRows.set(this.undefinedRows.subarray(0, this.size));
+        this.undefinedRows = undefinedRows;
+    };
+
+    this.CheckLocation = function (row) {
+        if (row < 0 || row >= this.size) {
+            throw "The row " + row + " is not in a column with " + this.size + " rows.";
+        }
+    };
+
+    this.AddNative$quorum_number = function (value) {
+        this.Grow(this.size + 1);
+        this.values[this.size] = value;
+        this.undefinedRows[this.size] = 0;
+        this.size++;
+    };
+
+    this.AddUndefinedNative = function () {
+        this.Grow(this.size + 1);
+        this.values[this.size] = 0;
+        this.undefinedRows[this.size] = 1;
+        this.size++;
+    };
+
+    this.GetNative$quorum_integer = function (row) {
+        this.CheckLocation(row);
+        return this.values[row];
+    };
+
+    this.SetNative$quorum_integer$quorum_number = function (row, value) {
+        this.CheckLocation(row);
+        this.values[row] = value;
+        this.undefinedRows[row] = 0;
+    };
+
+    this.SetUndefinedNative$quorum_integer = function (row) {
+        this.CheckLocation(row);
+        this.values[row] = 0;
+        this.undefinedRows[row] = 1;
+    };
+
+    this.IsUndefinedNative$quorum_integer = function (row) {
+        this.CheckLocation(row);
+        return this.undefinedRows[row] === 1;
+    };
+
+    this.GetSizeNative = function () {
+        return this.size;
+    };
+
+    this.SetSizeNative$quorum_integer = function (size) {
+        if (size < 0) {
+            throw "The size of a column cannot be negative.";
+        }
+        this.Grow(size);
+        if (size > this.size) {
+            this.values.fill(0, this.size, size);
+            this.undefinedRows.fill(1, this.size, size);
+        } else {
+            this.values.fill(0, size, this.size);
+            this.undefinedRows.fill(0, size, this.size);
+        }
+        this.size = size;
+    };
+
+    this.GetUndefinedSizeNative = function () {
+        var count = 0;
+        for (var i = 0; i < this.size; i++) {
+            count += this.undefinedRows[i];
+        }
+        return count;
+    };
+
+    this.SwapNative$quorum_integer$quorum_integer = function (left, right) {
+        this.CheckLocation(left);
+        this.CheckLocation(right);
+        var value = this.values[left];
+        this.values[left] = this.values[right];
+        this.values[right] = value;
+        var flag = this.undefinedRows[left];
+        this.undefinedRows[left] = this.undefinedRows[right];
+        this.undefinedRows[right] = flag;
+    };
+
+    this.MoveNative$quorum_integer$quorum_integer = function (left, right) {
+        this.CheckLocation(left);
+        this.CheckLocation(right);
+        this.values[right] = this.values[left];
+        this.undefinedRows[right] = this.undefinedRows[left];
+    };
+
+    this.CopyNative$quorum_Libraries_Compute_Statistics_Columns_NumberColumn$quorum_integer$quorum_integer$quorum_boolean$quorum_boolean = function (column, start, end, sort, unique) {
+        if (start < 0 || end > this.size) {
+            throw "The rows " + start + " to " + end + " are not in a column with " + this.size + " rows.";
+        }
+        var target = column.plugin_;
+        if (end > start) {
+            target.Grow(target.size + end - start);
+            target.values.set(this.values.subarray(start, end), target.size);
+            target.undefinedRows.set(this.undefinedRows.subarray(start, end), target.size);
+            target.size += end - start;
+        }
+        if (unique) {
+            target.Unique();
+        }
+        if (sort) {
+            target.Sort();
+        }
+    };
+
+    //undefined values first, then the defined values in ascending order
+    this.Sort = function () {
+        var defined = [];
+        for (var i = 0; i < this.size; i++) {
+            if (this.undefinedRows[i] === 0) {
+                defined.push(this.values[i]);
+            }
+        }
+        defined.sort(function (a, b) { return a - b; });
+        var missing = this.size - defined.length;
+        this.values.fill(0, 0, missing);
+        this.undefinedRows.fill(1, 0, missing);
+        this.undefinedRows.fill(0, missing, this.size);
+        for (var j = 0; j < defined.length; j++) {
+            this.values[missing + j] = defined[j];
+        }
+    };
+
+    //keeps the first copy of each defined value and removes undefined values
+    this.Unique = function () {
+        var seen = new Set();
+        var next = 0;
+        for (var i = 0; i < this.size; i++) {
+            if (this.undefinedRows[i] === 0 && !seen.has(this.values[i])) {
+                seen.add(this.values[i]);
+                this.values[next] = this.values[i];
+                next++;
+            }
+        }
+        this.values.fill(0, next, this.size);
+        this.undefinedRows.fill(0, 0, this.size);
+        this.size = next;
+    };
+
+    this.SumOfPowersNative$quorum_number$quorum_integer = function (center, power) {
+        var sum = 0;
+        for (var i = 0; i < this.size; i++) {
+            if (this.undefinedRows[i] === 0) {
+                sum += Math.pow(this.values[i] - center, power);
+            }
+        }
+        return sum;
+    };
+}
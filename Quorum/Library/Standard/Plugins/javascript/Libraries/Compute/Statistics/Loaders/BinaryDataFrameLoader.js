@@ -0,0 +1,25 @@
+/*
+    Binary DataFrame files are memory mapped, which the browser cannot do.
+*/
+function plugins_quorum_Libraries_Compute_Statistics_Loaders_BinaryDataFrameLoader_(quorumObject) {
+    this.me_ = quorumObject;
+
+    this.OpenNative$quorum_Libraries_System_File = function (file) {
+        throw "Binary DataFrame files cannot be loaded in the browser.";
+    };
+
+    this.ReadNative$quorum_integer$quorum_Libraries_Compute_Statistics_DataFrameColumn = function (column, target) {
+        throw "Binary DataFrame files cannot be loaded in the browser.";
+    };
+
+    this.GetColumnType$quorum_integer = function (column) {
+        throw "Binary DataFrame files cannot be loaded in the browser.";
+    };
+
+    this.GetHeader$quorum_integer = function (column) {
+        throw "Binary DataFrame files cannot be loaded in the browser.";
+    };
+
+    this.Close = function () {
+    };
+}
@@ -0,0 +1,11 @@
+/*
+    Binary DataFrame files are written through a file channel, which the browser
+    does not have.
+*/
+function plugins_quorum_Libraries_Compute_Statistics_Loaders_BinaryDataFrameSaver_(quorumObject) {
+    this.me_ = quorumObject;
+
+    this.SaveNative$quorum_Libraries_Compute_Statistics_DataFrame$quorum_Libraries_System_File = function (frame, file) {
+        throw "Binary DataFrame files cannot be saved in the browser.";
+    };
+}
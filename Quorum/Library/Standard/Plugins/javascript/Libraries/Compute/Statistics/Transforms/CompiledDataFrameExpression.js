@@ -0,0 +1,35 @@
+/*
+    Expressions are not compiled in the browser, so DataFrame interprets them
+    instead. Only IsSupported is ever called here.
+*/
+function plugins_quorum_Libraries_Compute_Statistics_Transforms_CompiledDataFrameExpression_(quorumObject) {
+    this.me_ = quorumObject;
+
+    this.IsSupported = function () {
+        return false;
+    };
+
+    this.Load$quorum_text = function (key) {
+        return false;
+    };
+
+    this.CreateClassWriter$quorum_text = function (description) {
+        throw "DataFrame expressions cannot be compiled in the browser.";
+    };
+
+    this.Define$quorum_text$quorum_Libraries_Language_Compile_Translate_JavaBytecodeClassWriter$quorum_text = function (key, writer, description) {
+        throw "DataFrame expressions cannot be compiled in the browser.";
+    };
+
+    this.Bind$quorum_Libraries_Compute_Statistics_DataFrameColumn$quorum_integer = function (column, rows) {
+        throw "DataFrame expressions cannot be compiled in the browser.";
+    };
+
+    this.Fill$quorum_Libraries_Compute_Statistics_DataFrameColumn$quorum_integer = function (column, rows) {
+        throw "DataFrame expressions cannot be compiled in the browser.";
+    };
+
+    this.Filter$quorum_Libraries_Compute_Statistics_DataFrame$quorum_integer = function (frame, rows) {
+        throw "DataFrame expressions cannot be compiled in the browser.";
+    };
+}
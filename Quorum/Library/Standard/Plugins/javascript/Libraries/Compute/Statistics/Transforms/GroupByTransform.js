@@ -0,0 +1,184 @@
+/*
+    The native side of the GroupByTransform class. Each key column is numbered
+    in the order its values first appear, and the numbers of several key columns
+    are folded together into the number of each row's group.
+*/
+function plugins_quorum_Libraries_Compute_Statistics_Transforms_GroupByTransform_(quorumObject) {
+    this.me_ = quorumObject;
+    this.keys = [];
+    this.rows = 0;
+    this.groups = new Int32Array(0);
+    this.firsts = [];
+
+    //these match the constants in GroupByTransform.quorum
+    var COUNT = 0;
+    var SUM = 1;
+    var MEAN = 2;
+    var MINIMUM = 3;
+    var MAXIMUM = 4;
+    var DISTINCT = 5;
+
+    function IsUndefined(column, row) {
+        var plugin = column.plugin_;
+        if (plugin !== undefined && plugin.undefinedRows !== undefined) {
+            return row >= plugin.size || plugin.undefinedRows[row] !== 0;
+        }
+        return row >= column.GetSize() || column.IsUndefined$quorum_integer(row);
+    }
+
+    function GetValue(column, row) {
+        var plugin = column.plugin_;
+        if (plugin !== undefined && plugin.values !== undefined) {
+            return plugin.values[row];
+        }
+        return column.GetAsText$quorum_integer(row);
+    }
+
+    function Encode(column, rows) {
+        var codes = new Int32Array(rows);
+        var table = new Map();
+        var size = 0;
+        var undefinedCode = -1;
+        for (var row = 0; row < rows; row++) {
+            if (IsUndefined(column, row)) {
+                if (undefinedCode < 0) {
+                    undefinedCode = size;
+                    size++;
+                }
+                codes[row] = undefinedCode;
+            } else {
+                var value = GetValue(column, row);
+                var code = table.get(value);
+                if (code === undefined) {
+                    code = size;
+                    table.set(value, code);
+                    size++;
+                }
+                codes[row] = code;
+            }
+        }
+        return {codes: codes, size: size, undefinedCode: undefinedCode};
+    }
+
+    this.AddKeyNative$quorum_Libraries_Compute_Statistics_DataFrameColumn = function (column) {
+        this.keys.push(column);
+    };
+
+    this.GroupNative$quorum_integer = function (rows) {
+        this.rows = rows;
+        if (this.keys.length === 0) {
+            this.groups = new Int32Array(rows);
+            this.firsts = rows > 0 ? [0] : [];
+            return this.firsts.length;
+        }
+
+        var first = Encode(this.keys[0], rows);
+        var ids = first.codes;
+        var count = first.size;
+        for (var k = 1; k < this.keys.length; k++) {
+            var encoding = Encode(this.keys[k], rows);
+            var next = new Int32Array(rows);
+            var table = new Map();
+            count = 0;
+            for (var row = 0; row < rows; row++) {
+                var key = ids[row] * encoding.size + encoding.codes[row];
+                var id = table.get(key);
+                if (id === undefined) {
+                    id = count;
+                    table.set(key, id);
+                    count++;
+                }
+                next[row] = id;
+            }
+            ids = next;
+        }
+
+        this.groups = ids;
+        this.firsts = new Array(count).fill(-1);
+        for (var row = 0; row < rows; row++) {
+            if (this.firsts[ids[row]] < 0) {
+                this.firsts[ids[row]] = row;
+            }
+        }
+        return count;
+    };
+
+    this.GetFirstRow$quorum_integer = function (group) {
+        return this.firsts[group];
+    };
+
+    this.AggregateNative$quorum_Libraries_Compute_Statistics_DataFrameColumn$quorum_integer$quorum_Libraries_Compute_Statistics_DataFrameColumn = function (column, type, result) {
+        var size = this.firsts.length;
+        var counts = new Float64Array(size);
+        var row;
+        if (type === COUNT || type === DISTINCT) {
+            if (column === null || column === undefined) {
+                for (row = 0; row < this.rows; row++) {
+                    counts[this.groups[row]]++;
+                }
+            } else if (type === COUNT) {
+                for (row = 0; row < this.rows; row++) {
+                    if (!IsUndefined(column, row)) {
+                        counts[this.groups[row]]++;
+                    }
+                }
+            } else {
+                var encoding = Encode(column, this.rows);
+                var seen = new Set();
+                for (row = 0; row < this.rows; row++) {
+                    var code = encoding.codes[row];
+                    var key = this.groups[row] * encoding.size + code;
+                    if (code !== encoding.undefinedCode && !seen.has(key)) {
+                        seen.add(key);
+                        counts[this.groups[row]]++;
+                    }
+                }
+            }
+            for (var group = 0; group < size; group++) {
+                result.Add$quorum_integer(counts[group]);
+            }
+            return;
+        }
+
+        var sums = new Float64Array(size);
+        var minimums = new Float64Array(size);
+        var maximums = new Float64Array(size);
+        for (row = 0; row < this.rows; row++) {
+            if (IsUndefined(column, row)) {
+                continue;
+            }
+            var value = column.plugin_ !== undefined && column.plugin_.values !== undefined
+                ? column.plugin_.values[row] : column.GetAsNumber$quorum_integer(row);
+            var g = this.groups[row];
+            if (counts[g] === 0 || value < minimums[g]) {
+                minimums[g] = value;
+            }
+            if (counts[g] === 0 || value > maximums[g]) {
+                maximums[g] = value;
+            }
+            counts[g]++;
+            sums[g] += value;
+        }
+
+        for (var group = 0; group < size; group++) {
+            if (counts[group] === 0) {
+                result.Add$quorum_text(null);
+            } else if (type === SUM) {
+                result.Add$quorum_number(sums[group]);
+            } else if (type === MEAN) {
+                result.Add$quorum_number(sums[group] / counts[group]);
+            } else if (type === MINIMUM) {
+                result.Add$quorum_number(minimums[group]);
+            } else {
+                result.Add$quorum_number(maximums[group]);
+            }
+        }
+    };
+
+    this.EmptyNative = function () {
+        this.keys = [];
+        this.rows = 0;
+        this.groups = new Int32Array(0);
+        this.firsts = [];
+    };
+}
@@ -125,6 +125,43 @@ function plugins_quorum_Libraries_Containers_Array_() {
             this.size = 0;
         }
     };
+
+    //the merge sort this replaced kept the left item on -1 or 0
+    this.NormalizeCompare = function (result) {
+        if(result == -1 || result == 0) {
+            return result;
+        }
+        return 1;
+    };
+
+    //Array.prototype.sort is stable, so this matches the desktop version. 
+    //There is only one thread, so sorting in parallel is the same.
+    this.SortNative$quorum_boolean = function (parallel) {
+        var self = this;
+        this.SortRange(function (left, right) {
+            if(typeof left === "number" || typeof left === "boolean") {
+                if(left === right) {
+                    return 0;
+                }
+                return left < right ? -1 : 1;
+            }
+            return self.NormalizeCompare(left.Compare$quorum_Libraries_Language_Object(right));
+        });
+    };
+
+    this.SortNative$quorum_Libraries_Containers_Support_Comparison$quorum_boolean = function (comparison, parallel) {
+        var self = this;
+        this.SortRange(function (left, right) {
+            return self.NormalizeCompare(comparison.Compare$quorum_Libraries_Language_Object$quorum_Libraries_Language_Object(left, right));
+        });
+    };
+
+    this.SortRange = function (compare) {
+        var sorted = this.array_.slice(0, this.size).sort(compare);
+        for(var i = 0; i < sorted.length; i++) {
+            this.array_[i] = sorted[i];
+        }
+    };
 };
 
 function plugins_quorum_Libraries_Containers_Number32BitArray_() {
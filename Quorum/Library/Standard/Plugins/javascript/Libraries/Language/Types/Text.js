@@ -40,6 +40,18 @@ function plugins_quorum_Libraries_Language_Types_Text_(optional) {
     this.GetUnicodeInteger$quorum_integer = function (value) {
         return this.text.GetUnicodeInteger$quorum_integer(value);
     };
+    this.GetCodePoint$quorum_integer = function (index) {
+        return this.text.GetCodePoint$quorum_integer(index);
+    };
+    this.ScanWhile$quorum_text$quorum_integer = function (characters, index) {
+        return this.text.ScanWhile$quorum_text$quorum_integer(characters, index);
+    };
+    this.IndexOfAny$quorum_text$quorum_integer = function (characters, index) {
+        return this.text.IndexOfAny$quorum_text$quorum_integer(characters, index);
+    };
+    this.StartsWith$quorum_text$quorum_integer = function (prefix, index) {
+        return this.text.StartsWith$quorum_text$quorum_integer(prefix, index);
+    };
     this.ContainsNative$quorum_text$quorum_text = function(left, right) {
         return this.text.ContainsNative$quorum_text$quorum_text(left, right);
     };
@@ -130,6 +142,29 @@ String.prototype.GetUnicodeValue$quorum_integer = function(value) {
 String.prototype.GetUnicodeInteger$quorum_integer = function(value) {
     return this.valueOf().charCodeAt(value);
 };
+String.prototype.GetCodePoint$quorum_integer = function(index) {
+    return this.valueOf().codePointAt(index);
+};
+String.prototype.ScanWhile$quorum_text$quorum_integer = function(characters, index) {
+    var value = this.valueOf();
+    var i = index < 0 ? 0 : index;
+    while (i < value.length && characters.indexOf(value.charAt(i)) !== -1) {
+        i++;
+    }
+    return i;
+};
+String.prototype.IndexOfAny$quorum_text$quorum_integer = function(characters, index) {
+    var value = this.valueOf();
+    for (var i = index < 0 ? 0 : index; i < value.length; i++) {
+        if (characters.indexOf(value.charAt(i)) !== -1) {
+            return i;
+        }
+    }
+    return -1;
+};
+String.prototype.StartsWith$quorum_text$quorum_integer = function(prefix, index) {
+    return this.valueOf().startsWith(prefix, index);
+};
 String.prototype.ContainsNative$quorum_text$quorum_text = function(left, searchString) {
     var l = left.valueOf();
     for(var i = 0; i < l.length; i++) {
@@ -2,7 +2,20 @@ function plugins_quorum_Libraries_Network_NetworkConnection_(quorumConnection) {
     var connection = quorumConnection;
     
     this.Request = function () {
-        request = connection.GetNetworkRequest();
+        Send(connection.GetNetworkRequest());
+    };
+
+    // requests from the browser never block, so both ways of sending are the same
+    this.RequestAsynchronously$quorum_Libraries_Network_NetworkRequest = function (request) {
+        Send(request);
+    };
+
+    // the browser cannot block until a response arrives, so this does not wait at all;
+    // listeners are still notified as each response comes in
+    this.WaitForRequests = function () {
+    };
+
+    function Send(request) {
         if (request.GetRequestType() === "POST") {
             Post(request);
         } else if (request.GetRequestType() === "GET") {
@@ -0,0 +1,26 @@
+function plugins_quorum_Libraries_Web_Page_WebWriter_() {
+    // pieces are collected in an array and joined once, rather than copied on every write
+    this.pieces = [];
+    this.size = 0;
+
+    this.WriteNative$quorum_text = function (value) {
+        this.pieces.push(value);
+        this.size = this.size + value.length;
+    };
+
+    this.ToText = function () {
+        if (this.pieces.length > 1) {
+            this.pieces = [this.pieces.join("")];
+        }
+        return this.pieces.length === 0 ? "" : this.pieces[0];
+    };
+
+    this.GetSize = function () {
+        return this.size;
+    };
+
+    this.Empty = function () {
+        this.pieces = [];
+        this.size = 0;
+    };
+}